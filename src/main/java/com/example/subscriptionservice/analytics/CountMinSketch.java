@@ -0,0 +1,87 @@
+package com.example.subscriptionservice.analytics;
+
+/**
+ * Count-Min sketch over strings: {@code depth} rows of {@code width} counters. An estimate never undercounts
+ * and overcounts by at most {@code e * total / width} with probability {@code 1 - e^-depth}. Row positions
+ * derive only from {@link String#hashCode}, so sketches of equal dimensions built on different instances
+ * can be merged by adding their counters.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[][] counts;
+
+    CountMinSketch(int width, int depth) {
+        this(width, depth, new long[depth][width]);
+    }
+
+    CountMinSketch(int width, int depth, long[][] counts) {
+        if (counts.length != depth || (depth > 0 && counts[0].length != width)) {
+            throw new IllegalArgumentException("Counters do not match a " + depth + " x " + width + " sketch");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = counts;
+    }
+
+    void add(String item, long count) {
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        for (int row = 0; row < depth; row++) {
+            counts[row][index(h1, h2, row)] += count;
+        }
+    }
+
+    long estimate(String item) {
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][index(h1, h2, row)]);
+        }
+        return estimate;
+    }
+
+    void merge(long[][] other) {
+        if (other.length != depth || (depth > 0 && other[0].length != width)) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] += other[row][column];
+            }
+        }
+    }
+
+    int width() {
+        return width;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    long[][] counts() {
+        long[][] copy = new long[depth][];
+        for (int row = 0; row < depth; row++) {
+            copy[row] = counts[row].clone();
+        }
+        return copy;
+    }
+
+    // Double hashing (h1 + row * h2) gives each row an independent-enough position from two hashes
+    private int index(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    // Murmur3 finalizer, forced odd: with a power-of-two width the rows then never share a column
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
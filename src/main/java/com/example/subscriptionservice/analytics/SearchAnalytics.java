@@ -0,0 +1,104 @@
+package com.example.subscriptionservice.analytics;
+
+import com.example.subscriptionservice.dto.SearchAnalyticsEnvelope;
+import com.example.subscriptionservice.dto.SearchAnalyticsState;
+import com.example.subscriptionservice.exception.IncompatibleSketchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming analytics over the terms sent to {@code /available/search} and {@code /admin/search}: one
+ * {@link TermSketch} for every search and one for searches that matched nothing. Memory is bounded by
+ * {@code search-analytics.*} and does not grow with traffic. Each instance counts only its own traffic;
+ * {@link #state()} exports it so the states of all replicas can be merged into one report.
+ */
+@Component
+public class SearchAnalytics {
+
+    // Longer terms are cut; they are almost never repeated verbatim
+    private static final int MAX_TERM_LENGTH = 64;
+
+    @Value("${search-analytics.capacity:200}")
+    private int capacity;
+
+    @Value("${search-analytics.width:2048}")
+    private int width;
+
+    @Value("${search-analytics.depth:4}")
+    private int depth;
+
+    private final LocalDateTime since = LocalDateTime.now();
+
+    private TermSketch searches;
+    private TermSketch zeroResults;
+
+    @PostConstruct
+    public void init() {
+        searches = new TermSketch(capacity, width, depth);
+        zeroResults = new TermSketch(capacity, width, depth);
+    }
+
+    public void record(String term, boolean matched) {
+        String normalized = normalize(term);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        searches.add(normalized);
+        if (!matched) {
+            zeroResults.add(normalized);
+        }
+    }
+
+    public SearchAnalyticsState state() {
+        return new SearchAnalyticsState(since, searches.state(), zeroResults.state());
+    }
+
+    public SearchAnalyticsEnvelope report(int limit) {
+        return report(searches, zeroResults, since, 1, limit);
+    }
+
+    /**
+     * Report over this instance merged with {@code others}, typically the {@link #state()} of every other
+     * replica.
+     */
+    public SearchAnalyticsEnvelope mergedReport(List<SearchAnalyticsState> others, int limit) {
+        if (others.stream().anyMatch(other -> other == null || other.since() == null)) {
+            throw new IncompatibleSketchException("Search analytics state is missing its start time");
+        }
+        List<SearchAnalyticsState> states = new ArrayList<>(others);
+        states.add(state());
+
+        try {
+            TermSketch mergedSearches = TermSketch.merge(
+                    states.stream().map(SearchAnalyticsState::searches).toList(), capacity, width, depth);
+            TermSketch mergedZeroResults = TermSketch.merge(
+                    states.stream().map(SearchAnalyticsState::zeroResults).toList(), capacity, width, depth);
+            LocalDateTime earliest = states.stream().map(SearchAnalyticsState::since)
+                    .min(Comparator.naturalOrder()).orElse(since);
+            return report(mergedSearches, mergedZeroResults, earliest, states.size(), limit);
+        } catch (IllegalArgumentException e) {
+            throw new IncompatibleSketchException(e.getMessage());
+        }
+    }
+
+    private static SearchAnalyticsEnvelope report(TermSketch searches, TermSketch zeroResults, LocalDateTime since,
+                                                  int instances, int limit) {
+        return new SearchAnalyticsEnvelope(true, since, instances, searches.total(), zeroResults.total(),
+                searches.top(limit), zeroResults.top(limit));
+    }
+
+    private static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TERM_LENGTH ? normalized.substring(0, MAX_TERM_LENGTH) : normalized;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.subscriptionservice.analytics;
+
+import com.example.subscriptionservice.dto.TermCount;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters (Metwally et al.): at most {@code capacity} monitored terms. An unmonitored
+ * term replaces the one with the lowest count and inherits that count as its error, so every term that
+ * occurs more than {@code total / capacity} times is guaranteed to be monitored.
+ */
+final class SpaceSaving {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.comparingLong((Counter c) -> c.count)
+            .thenComparing(c -> c.term);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String term, long increment) {
+        add(term, increment, 0);
+    }
+
+    private void add(String term, long increment, long error) {
+        Counter counter = counters.get(term);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += increment;
+            counter.error += error;
+            byCount.add(counter);
+            return;
+        }
+
+        long inherited = 0;
+        if (counters.size() >= capacity) {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.term);
+            inherited = evicted.count;
+        }
+        counter = new Counter(term, inherited + increment, inherited + error);
+        counters.put(term, counter);
+        byCount.add(counter);
+    }
+
+    /**
+     * Lowest monitored count once the summary is full; any unmonitored term occurred at most this often.
+     */
+    long floor() {
+        return counters.size() < capacity ? 0 : byCount.first().count;
+    }
+
+    List<TermCount> top(int limit) {
+        List<TermCount> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> iterator = byCount.descendingIterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            Counter counter = iterator.next();
+            top.add(new TermCount(counter.term, counter.count, counter.error));
+        }
+        return top;
+    }
+
+    /**
+     * Merges summaries taken on different instances (Agarwal et al., "Mergeable Summaries"): a term missing
+     * from a summary is assumed to have occurred there as often as that summary's floor, which keeps the
+     * merged counts upper bounds. The result monitors the {@code capacity} highest merged counts.
+     */
+    static SpaceSaving merge(int capacity, List<List<TermCount>> summaries, List<Long> floors) {
+        Map<String, long[]> merged = new HashMap<>();
+        long floorTotal = floors.stream().mapToLong(Long::longValue).sum();
+        for (int i = 0; i < summaries.size(); i++) {
+            long floor = floors.get(i);
+            for (TermCount entry : summaries.get(i)) {
+                // Start every term at the sum of all floors, then swap this summary's floor for its real entry
+                long[] totals = merged.computeIfAbsent(entry.term(), t -> new long[]{floorTotal, floorTotal});
+                totals[0] += entry.count() - floor;
+                totals[1] += entry.error() - floor;
+            }
+        }
+
+        SpaceSaving result = new SpaceSaving(capacity);
+        merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(capacity)
+                .forEach(e -> result.add(e.getKey(), e.getValue()[0], e.getValue()[1]));
+        return result;
+    }
+
+    private static final class Counter {
+        final String term;
+        long count;
+        long error;
+
+        Counter(String term, long count, long error) {
+            this.term = term;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
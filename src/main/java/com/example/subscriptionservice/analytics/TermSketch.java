@@ -0,0 +1,109 @@
+package com.example.subscriptionservice.analytics;
+
+import com.example.subscriptionservice.dto.SearchSketchState;
+import com.example.subscriptionservice.dto.TermCount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Space-Saving summary for the top terms paired with a Count-Min sketch for their frequencies. Reported
+ * counts are the smaller of the two upper bounds. Memory is fixed by the configured capacity, width and
+ * depth, whatever the traffic.
+ */
+final class TermSketch {
+
+    private final int capacity;
+    private final CountMinSketch frequencies;
+    private final SpaceSaving heavyHitters;
+    private long total;
+
+    TermSketch(int capacity, int width, int depth) {
+        this(capacity, new CountMinSketch(width, depth), new SpaceSaving(capacity), 0);
+    }
+
+    private TermSketch(int capacity, CountMinSketch frequencies, SpaceSaving heavyHitters, long total) {
+        this.capacity = capacity;
+        this.frequencies = frequencies;
+        this.heavyHitters = heavyHitters;
+        this.total = total;
+    }
+
+    synchronized void add(String term) {
+        frequencies.add(term, 1);
+        heavyHitters.add(term, 1);
+        total++;
+    }
+
+    synchronized SearchSketchState state() {
+        return new SearchSketchState(total, frequencies.width(), frequencies.depth(), frequencies.counts(),
+                capacity, heavyHitters.floor(), heavyHitters.top(capacity));
+    }
+
+    /**
+     * Combines states from several instances into one sketch with the given configuration. States arrive from
+     * other replicas, so each is checked against it first; a state that does not fit is rejected with
+     * {@link IllegalArgumentException} before anything is allocated from its values.
+     */
+    static TermSketch merge(List<SearchSketchState> states, int capacity, int width, int depth) {
+        CountMinSketch frequencies = new CountMinSketch(width, depth);
+        List<List<TermCount>> summaries = new ArrayList<>();
+        List<Long> floors = new ArrayList<>();
+        long total = 0;
+        for (SearchSketchState state : states) {
+            validate(state, capacity, width, depth);
+            frequencies.merge(state.counts());
+            summaries.add(state.top());
+            floors.add(state.floor());
+            total += state.total();
+        }
+
+        return new TermSketch(capacity, frequencies, SpaceSaving.merge(capacity, summaries, floors), total);
+    }
+
+    private static void validate(SearchSketchState state, int capacity, int width, int depth) {
+        if (state == null) {
+            throw new IllegalArgumentException("Search sketch state is missing");
+        }
+        if (state.width() != width || state.depth() != depth) {
+            throw new IllegalArgumentException("Search sketch is " + state.depth() + " x " + state.width()
+                    + ", expected " + depth + " x " + width);
+        }
+        long[][] counts = state.counts();
+        if (counts == null || counts.length != depth) {
+            throw new IllegalArgumentException("Search sketch counters do not have " + depth + " rows");
+        }
+        for (long[] row : counts) {
+            if (row == null || row.length != width) {
+                throw new IllegalArgumentException("Search sketch counter rows do not have " + width + " columns");
+            }
+        }
+        if (state.total() < 0 || state.floor() < 0) {
+            throw new IllegalArgumentException("Search sketch totals must not be negative");
+        }
+        List<TermCount> top = state.top();
+        if (top == null || top.size() > capacity) {
+            throw new IllegalArgumentException("Search sketch must list at most " + capacity + " terms");
+        }
+        for (TermCount entry : top) {
+            if (entry == null || entry.term() == null || entry.error() < 0 || entry.count() < entry.error()) {
+                throw new IllegalArgumentException("Search sketch lists an invalid term count");
+            }
+        }
+    }
+
+    synchronized long total() {
+        return total;
+    }
+
+    synchronized List<TermCount> top(int limit) {
+        List<TermCount> top = new ArrayList<>();
+        for (TermCount entry : heavyHitters.top(limit)) {
+            long count = Math.min(entry.count(), frequencies.estimate(entry.term()));
+            long lowerBound = entry.count() - entry.error();
+            top.add(new TermCount(entry.term(), count, Math.max(0, count - lowerBound)));
+        }
+        top.sort((a, b) -> Long.compare(b.count(), a.count()));
+        return top;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.subscriptionservice.audit;
+
+public enum AuditAction {
+    CREATED,
+    UPDATED,
+    DEACTIVATED,
+    ACTIVATED,
+    CHANGE_SCHEDULED,
+    SCHEDULED_CHANGE_CANCELLED,
+    SCHEDULED_CHANGE_APPLIED
+}
@@ -0,0 +1,241 @@
+package com.example.subscriptionservice.audit;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin audit trail. {@link #record} only computes the field diff and, once the surrounding transaction has
+ * committed, offers the entry to a bounded Disruptor ring buffer; it never touches the database. A single
+ * consumer thread drains the ring and inserts whatever has accumulated as one JDBC batch, so the batch size
+ * grows with load. When the ring is full the entry is dropped and counted ({@code audit.dropped}) rather
+ * than slowing the admin request down.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO admin_audit_log "
+            + "(occurred_at, actor, action, subscription_id, changes) VALUES (?, ?, ?, ?, ?::jsonb)";
+
+    // Actor of changes made outside a request, e.g. by the scheduled change executor
+    public static final String SYSTEM_ACTOR = "system";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${audit.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${audit.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMillis;
+
+    private Disruptor<Slot> disruptor;
+    private RingBuffer<Slot> ringBuffer;
+
+    @PostConstruct
+    public void start() {
+        // The ring size must be a power of two
+        int size = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;
+        disruptor = new Disruptor<>(Slot::new, size, DaemonThreadFactory.INSTANCE, ProducerType.MULTI,
+                new SleepingWaitStrategy());
+        disruptor.handleEventsWith(new BatchWriter());
+        ringBuffer = disruptor.start();
+        logger.info("Audit log started with a ring of {} entries", size);
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            // Waits for the consumer to write everything already published
+            disruptor.shutdown(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Audit log did not drain within {} ms; {} entries may be lost",
+                    shutdownTimeoutMillis, ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+            disruptor.halt();
+        }
+    }
+
+    /**
+     * Records that the current user applied {@code action} to a subscription, with the fields that differ
+     * between {@code before} and {@code after} (either may be {@code null}).
+     */
+    public void record(AuditAction action, Long subscriptionId, SubscriptionResponse before, SubscriptionResponse after) {
+        record(action, subscriptionId, fields(before), fields(after));
+    }
+
+    public void record(String actor, AuditAction action, Long subscriptionId,
+                       SubscriptionResponse before, SubscriptionResponse after) {
+        record(actor, action, subscriptionId, fields(before), fields(after));
+    }
+
+    public void record(AuditAction action, Long subscriptionId, Map<String, Object> before, Map<String, Object> after) {
+        record(currentActor(), action, subscriptionId, before, after);
+    }
+
+    public void record(String actor, AuditAction action, Long subscriptionId,
+                       Map<String, Object> before, Map<String, Object> after) {
+        Entry entry = new Entry(LocalDateTime.now(), actor, action, subscriptionId, diff(before, after));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Rolled-back changes are not audited
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(entry);
+                }
+            });
+        } else {
+            publish(entry);
+        }
+    }
+
+    private void publish(Entry entry) {
+        boolean published = ringBuffer.tryPublishEvent((slot, sequence, value) -> slot.entry = value, entry);
+        if (!published) {
+            meterRegistry.counter("audit.dropped").increment();
+            logger.warn("Audit buffer full, dropped {} of subscription {} by {}",
+                    entry.action, entry.subscriptionId, entry.actor);
+        }
+    }
+
+    private String diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+        for (String field : union(before, after)) {
+            Object from = before.get(field);
+            Object to = after.get(field);
+            if (!sameValue(from, to)) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("from", from);
+                change.put("to", to);
+                changes.put(field, change);
+            }
+        }
+
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize audit diff", e);
+        }
+    }
+
+    private static List<String> union(Map<String, Object> before, Map<String, Object> after) {
+        List<String> fields = new ArrayList<>(before.keySet());
+        after.keySet().stream().filter(field -> !before.containsKey(field)).forEach(fields::add);
+        return fields;
+    }
+
+    // 9.9 and 9.90 are the same price
+    private static boolean sameValue(Object from, Object to) {
+        if (from instanceof BigDecimal a && to instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(from, to);
+    }
+
+    private static Map<String, Object> fields(SubscriptionResponse subscription) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (subscription == null) {
+            return fields;
+        }
+        fields.put("name", subscription.getName());
+        fields.put("description", subscription.getDescription());
+        fields.put("price", subscription.getPrice());
+        fields.put("currency", subscription.getCurrency());
+        fields.put("category", subscription.getCategory());
+        fields.put("billingPeriod", subscription.getBillingPeriod());
+        fields.put("websiteUrl", subscription.getWebsiteUrl());
+        fields.put("logoUrl", subscription.getLogoUrl());
+        fields.put("isActive", subscription.getIsActive());
+        return fields;
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    private record Entry(LocalDateTime occurredAt, String actor, AuditAction action, Long subscriptionId,
+                         String changes) {
+    }
+
+    // Ring buffer slots are preallocated and reused; the entry is cleared once it has been batched
+    private static final class Slot {
+        Entry entry;
+    }
+
+    /**
+     * Runs on the Disruptor's consumer thread. {@code endOfBatch} is set on the last entry available when the
+     * consumer caught up, so each flush writes everything that arrived while the previous one ran.
+     */
+    private final class BatchWriter implements EventHandler<Slot> {
+
+        private final List<Entry> batch = new ArrayList<>();
+
+        @Override
+        public void onEvent(Slot slot, long sequence, boolean endOfBatch) {
+            batch.add(slot.entry);
+            slot.entry = null;
+            if (endOfBatch || batch.size() >= maxBatchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(entry.occurredAt));
+                    statement.setString(2, entry.actor);
+                    statement.setString(3, entry.action.name());
+                    statement.setLong(4, entry.subscriptionId);
+                    statement.setString(5, entry.changes);
+                });
+            } catch (RuntimeException e) {
+                meterRegistry.counter("audit.write.failed").increment(batch.size());
+                logger.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.subscriptionservice.catalog;
+
+/**
+ * Billing periods the catalog knows about. Their names are the values stored in
+ * {@code subscriptions.billing_period}; {@link CompactRows} seeds its billing period dictionary with them
+ * in declaration order, so a known period's code is its ordinal. {@code periodsPerYear} is how many times a
+ * subscription with this period is charged in a year.
+ */
+public enum BillingPeriod {
+    MONTHLY(12),
+    YEARLY(1);
+
+    private final int periodsPerYear;
+
+    BillingPeriod(int periodsPerYear) {
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    public int getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /**
+     * The period stored as {@code value}, or {@code null} for a value the catalog does not know.
+     */
+    public static BillingPeriod parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (BillingPeriod period : values()) {
+            if (period.name().equalsIgnoreCase(value.trim())) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    static String[] names() {
+        BillingPeriod[] periods = values();
+        String[] names = new String[periods.length];
+        for (int i = 0; i < periods.length; i++) {
+            names[i] = periods[i].name();
+        }
+        return names;
+    }
+}
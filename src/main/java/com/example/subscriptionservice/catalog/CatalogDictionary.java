@@ -0,0 +1,43 @@
+package com.example.subscriptionservice.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the values of one low-cardinality column and assigns each distinct value a dense int code in
+ * first-seen order, so rows store a code instead of their own copy of the string. {@code null} is code -1.
+ * Built by a single thread while the catalog loads and only read afterwards.
+ */
+final class CatalogDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    CatalogDictionary(String... seed) {
+        for (String value : seed) {
+            encode(value);
+        }
+    }
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return codes.computeIfAbsent(value, v -> {
+            values.add(v);
+            return values.size() - 1;
+        });
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
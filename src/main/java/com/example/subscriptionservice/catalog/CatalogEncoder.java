@@ -0,0 +1,49 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.SubscriptionListEnvelope;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Produces CBOR encodings of the catalog endpoints' envelopes. Encodings are cached on the
+ * {@link CatalogSnapshot}, so each one is serialized once per catalog version.
+ */
+@Component
+public class CatalogEncoder {
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    public byte[] encodeAvailable(CatalogSnapshot snapshot, String displayCurrency) {
+        return snapshot.encoding("available:" + normalize(displayCurrency),
+                s -> encode(SubscriptionListEnvelope.of(s.getSubscriptions(displayCurrency))));
+    }
+
+    // Only categories in the snapshot are cached; any other path value is encoded per request, so clients
+    // cannot grow the cache by asking for made-up categories
+    public byte[] encodeCategory(CatalogSnapshot snapshot, String category, String displayCurrency) {
+        if (!snapshot.hasCategory(category)) {
+            return encodeCategoryOf(snapshot, category, displayCurrency);
+        }
+        return snapshot.encoding("category:" + category + ":" + normalize(displayCurrency),
+                s -> encodeCategoryOf(s, category, displayCurrency));
+    }
+
+    private byte[] encodeCategoryOf(CatalogSnapshot snapshot, String category, String displayCurrency) {
+        return encode(SubscriptionListEnvelope.forCategory(snapshot.findByCategory(category, displayCurrency), category));
+    }
+
+    private byte[] encode(SubscriptionListEnvelope envelope) {
+        try {
+            return cborConverter.getObjectMapper().writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to encode catalog: " + e.getMessage());
+        }
+    }
+
+    private String normalize(String displayCurrency) {
+        return displayCurrency == null || displayCurrency.isBlank() ? "" : displayCurrency.trim().toUpperCase();
+    }
+}
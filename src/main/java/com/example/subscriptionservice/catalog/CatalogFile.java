@@ -0,0 +1,206 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * On-disk form of the active catalog: a header carrying the {@link CatalogFingerprint} the rows were read at,
+ * one fixed-width record per row in id order, and a pool of deduplicated UTF-8 strings the records point into.
+ * A file is written once per catalog version and then memory-mapped read-only, so the rows live in the page
+ * cache rather than on the heap and survive restarts.
+ *
+ * <pre>
+ * header  magic:int format:int rowCount:long versionSum:long records:int poolOffset:long
+ * record  id:long priceUnscaled:long priceScale:int, then pool offsets (-1 for null) of
+ *         name, description, currency, category, billingPeriod, websiteUrl, logoUrl
+ * pool    length:int utf8:byte[length], repeated
+ * </pre>
+ */
+final class CatalogFile {
+
+    private static final int MAGIC = 0x53554243; // "SUBC"
+    private static final int FORMAT = 2;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 8;
+    private static final int STRING_FIELDS = 7;
+    private static final int RECORD_SIZE = 8 + 8 + 4 + STRING_FIELDS * 4;
+
+    private CatalogFile() {
+    }
+
+    /**
+     * Writes {@code rows} to a temporary file next to {@code path} and atomically moves it into place, so
+     * readers never map a half-written file and existing mappings keep their old contents.
+     */
+    static void write(Path path, CatalogFingerprint fingerprint, List<SubscriptionResponse> rows) throws IOException {
+        ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        DataOutputStream pool = new DataOutputStream(poolBytes);
+        Map<String, Integer> pooled = new HashMap<>();
+
+        ByteBuffer records = ByteBuffer.allocate(rows.size() * RECORD_SIZE);
+        for (SubscriptionResponse row : rows) {
+            BigDecimal price = row.getPrice();
+            records.putLong(row.getId());
+            records.putLong(price.unscaledValue().longValueExact());
+            records.putInt(price.scale());
+            for (String value : new String[]{row.getName(), row.getDescription(), row.getCurrency(),
+                    row.getCategory(), row.getBillingPeriod(), row.getWebsiteUrl(), row.getLogoUrl()}) {
+                records.putInt(value == null ? -1 : pooled.computeIfAbsent(value, v -> append(pool, poolBytes, v)));
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT);
+        header.putLong(fingerprint.rowCount());
+        header.putLong(fingerprint.versionSum());
+        header.putInt(rows.size());
+        header.putLong(HEADER_SIZE + (long) records.capacity());
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                header.flip();
+                records.flip();
+                ByteBuffer poolBuffer = ByteBuffer.wrap(poolBytes.toByteArray());
+                while (header.hasRemaining() || records.hasRemaining() || poolBuffer.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, records, poolBuffer});
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the file at {@code path} if it exists and was written at {@code expected}; returns {@code null}
+     * when it is missing, from another format or behind the database.
+     */
+    static MappedRows open(Path path, CatalogFingerprint expected) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            return null;
+        }
+
+        boolean current = buffer.getLong(8) == expected.rowCount() && buffer.getLong(16) == expected.versionSum();
+        if (!current) {
+            return null;
+        }
+
+        int size = buffer.getInt(24);
+        long poolOffset = buffer.getLong(28);
+        if (poolOffset != HEADER_SIZE + (long) size * RECORD_SIZE || poolOffset > buffer.capacity()) {
+            return null;
+        }
+
+        return new MappedRows(buffer, size, (int) poolOffset);
+    }
+
+    private static int append(DataOutputStream pool, ByteArrayOutputStream poolBytes, String value) {
+        int offset = poolBytes.size();
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            pool.writeInt(utf8.length);
+            pool.write(utf8);
+        } catch (IOException e) {
+            // Cannot happen: the stream writes to memory
+            throw new IllegalStateException(e);
+        }
+        return offset;
+    }
+
+    /**
+     * Read-only list view over the mapped records. Every {@link #get} decodes a fresh row from the buffer;
+     * only absolute reads are used, so one instance can be shared by all request threads.
+     */
+    static final class MappedRows extends AbstractList<SubscriptionResponse> implements RandomAccess, CatalogRows {
+
+        private final ByteBuffer buffer;
+        private final int size;
+        private final int poolOffset;
+
+        private MappedRows(ByteBuffer buffer, int size, int poolOffset) {
+            this.buffer = buffer;
+            this.size = size;
+            this.poolOffset = poolOffset;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public SubscriptionResponse get(int index) {
+            int base = recordOffset(index);
+            BigDecimal price = new BigDecimal(BigInteger.valueOf(buffer.getLong(base + 8)), buffer.getInt(base + 16));
+            int strings = base + 20;
+            return new SubscriptionResponse(
+                    buffer.getLong(base),
+                    string(buffer.getInt(strings)),
+                    string(buffer.getInt(strings + 4)),
+                    price,
+                    string(buffer.getInt(strings + 8)),
+                    string(buffer.getInt(strings + 12)),
+                    string(buffer.getInt(strings + 16)),
+                    string(buffer.getInt(strings + 20)),
+                    string(buffer.getInt(strings + 24)),
+                    true);
+        }
+
+        @Override
+        public long id(int index) {
+            return buffer.getLong(recordOffset(index));
+        }
+
+        private int recordOffset(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return HEADER_SIZE + index * RECORD_SIZE;
+        }
+
+        private String string(int offset) {
+            if (offset < 0) {
+                return null;
+            }
+            int start = poolOffset + offset;
+            byte[] utf8 = new byte[buffer.getInt(start)];
+            buffer.get(start + 4, utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
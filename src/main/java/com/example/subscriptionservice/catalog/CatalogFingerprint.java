@@ -0,0 +1,18 @@
+package com.example.subscriptionservice.catalog;
+
+/**
+ * Identifies a version of the subscriptions table. Every insert and update, soft deletes included, stamps
+ * its row with a fresh value of a database sequence (migration V8), larger than any the row held before, so
+ * {@code versionSum} grows with every committed write regardless of commit order or instance clocks. Rows are
+ * never hard-deleted.
+ */
+public record CatalogFingerprint(Long rowCount, Long versionSum) {
+
+    /**
+     * Whether the table has had writes since {@code other} was read; always true when there is nothing to
+     * compare with.
+     */
+    public boolean isAheadOf(CatalogFingerprint other) {
+        return other == null || rowCount > other.rowCount || versionSum > other.versionSum;
+    }
+}
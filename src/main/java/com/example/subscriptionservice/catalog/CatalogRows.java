@@ -0,0 +1,9 @@
+package com.example.subscriptionservice.catalog;
+
+/**
+ * Row storage that keeps rows in an encoded form and can report a row's id without decoding the whole row.
+ */
+interface CatalogRows {
+
+    long id(int index);
+}
@@ -0,0 +1,297 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.CategoryCost;
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.FacetResult;
+import com.example.subscriptionservice.dto.PortfolioCost;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.exception.UnsupportedCurrencyException;
+import com.example.subscriptionservice.util.SubscriptionMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable view of all active subscriptions at a given catalog version. A new snapshot is built
+ * whenever an admin mutation commits or the FX rates change; readers never see a partially updated catalog.
+ *
+ * <p>Prices converted to a display currency are computed once per snapshot and currency, so serving a
+ * converted catalog involves no per-request arithmetic.</p>
+ */
+public class CatalogSnapshot {
+
+    private static final int DISPLAY_SCALE = 2;
+    // Display price of a row whose own currency has no FX rate
+    private static final long NO_PRICE = FacetIndex.NO_PRICE;
+
+    private final long version;
+    private final List<SubscriptionResponse> subscriptions;
+    private final long[] ids;
+    private final FacetIndex facetIndex;
+    private final FxRateTable rates;
+    private final Map<String, DisplayPriceView> convertedViews = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> encodings = new ConcurrentHashMap<>();
+
+    /**
+     * @param subscriptions active rows in ascending id order, either on the heap or mapped from a {@link CatalogFile}
+     */
+    CatalogSnapshot(long version, List<SubscriptionResponse> subscriptions, BigDecimal[] priceBands, FxRateTable rates) {
+        this.version = version;
+        this.subscriptions = Collections.unmodifiableList(subscriptions);
+        this.ids = idsOf(subscriptions);
+        this.facetIndex = new FacetIndex(subscriptions, priceBands);
+        this.rates = rates;
+    }
+
+    private CatalogSnapshot(long version, CatalogSnapshot source, FxRateTable rates) {
+        this.version = version;
+        this.subscriptions = source.subscriptions;
+        this.ids = source.ids;
+        this.facetIndex = source.facetIndex;
+        this.rates = rates;
+    }
+
+    /**
+     * Returns a snapshot with the same rows and indexes but a new rate table, and no converted views or encodings.
+     */
+    CatalogSnapshot withRates(long newVersion, FxRateTable newRates) {
+        return new CatalogSnapshot(newVersion, this, newRates);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<SubscriptionResponse> getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Returns all rows, with display prices filled in when {@code displayCurrency} is given.
+     */
+    public List<SubscriptionResponse> getSubscriptions(String displayCurrency) {
+        DisplayPriceView view = displayView(displayCurrency);
+        return view != null ? view : subscriptions;
+    }
+
+    public SubscriptionResponse findById(Long id) {
+        return findById(id, null);
+    }
+
+    public SubscriptionResponse findById(Long id, String displayCurrency) {
+        int position = positionOf(id);
+        return position >= 0 ? getSubscriptions(displayCurrency).get(position) : null;
+    }
+
+    public List<SubscriptionResponse> findByCategory(String category, String displayCurrency) {
+        return collect(facetIndex.rowsWith(FacetIndex.CATEGORY, category), getSubscriptions(displayCurrency));
+    }
+
+    public boolean hasCategory(String category) {
+        return !facetIndex.rowsWith(FacetIndex.CATEGORY, category).isEmpty();
+    }
+
+    /**
+     * Swaps externally loaded rows (for example database search results) for their precomputed
+     * display-currency counterparts. Rows missing from this snapshot are returned unchanged.
+     */
+    public List<SubscriptionResponse> convert(List<SubscriptionResponse> rows, String displayCurrency) {
+        if (displayCurrency == null || displayCurrency.isBlank()) {
+            return rows;
+        }
+
+        List<SubscriptionResponse> view = getSubscriptions(displayCurrency);
+        List<SubscriptionResponse> converted = new ArrayList<>(rows.size());
+        for (SubscriptionResponse row : rows) {
+            int position = positionOf(row.getId());
+            converted.add(position >= 0 ? view.get(position) : row);
+        }
+        return converted;
+    }
+
+    /**
+     * Evaluates a facet query. With a display currency, rows are sorted, range-checked and banded by their
+     * converted prices, and {@code minPrice}/{@code maxPrice} are read in that currency.
+     */
+    public FacetResult filter(FacetQuery query) {
+        DisplayPriceView displayView = displayView(query.getDisplayCurrency());
+        FacetIndex.Selection selection = displayView != null
+                ? facetIndex.select(query, displayView.prices)
+                : facetIndex.select(query);
+        List<SubscriptionResponse> view = displayView != null ? displayView : subscriptions;
+
+        List<SubscriptionResponse> matches = new ArrayList<>(selection.getPositions().length);
+        for (int position : selection.getPositions()) {
+            matches.add(view.get(position));
+        }
+
+        return new FacetResult(matches, selection.getFacets());
+    }
+
+    /**
+     * Yearly and monthly cost of {@code quantities} (subscription id to quantity) in {@code displayCurrency},
+     * or the base currency when none is given, overall and per category. Each row is read once and its yearly
+     * cost, price times charges per year times quantity, is summed exactly per category and own currency.
+     * Rounding happens only at the end: once per category and currency when converting, and once per total
+     * when dividing the yearly total by twelve, so the totals do not drift with the number of items.
+     */
+    public PortfolioCost cost(Map<Long, Long> quantities, String displayCurrency) {
+        String currency = displayCurrency == null || displayCurrency.isBlank()
+                ? rates.getBaseCurrency()
+                : displayCurrency.trim().toUpperCase();
+        if (!rates.supports(currency)) {
+            throw new UnsupportedCurrencyException(displayCurrency);
+        }
+
+        Map<String, Map<String, BigDecimal>> yearlyByCategory = new HashMap<>();
+        Map<String, Long> countByCategory = new HashMap<>();
+        List<Long> unavailable = new ArrayList<>();
+        List<Long> unpriced = new ArrayList<>();
+        for (Map.Entry<Long, Long> item : quantities.entrySet()) {
+            int position = positionOf(item.getKey());
+            if (position < 0) {
+                unavailable.add(item.getKey());
+                continue;
+            }
+
+            SubscriptionResponse row = subscriptions.get(position);
+            BillingPeriod period = BillingPeriod.parse(row.getBillingPeriod());
+            if (period == null || !rates.supports(row.getCurrency())) {
+                unpriced.add(item.getKey());
+                continue;
+            }
+
+            BigDecimal yearly = row.getPrice()
+                    .multiply(BigDecimal.valueOf((long) period.getPeriodsPerYear() * item.getValue()));
+            yearlyByCategory.computeIfAbsent(row.getCategory(), c -> new HashMap<>())
+                    .merge(row.getCurrency(), yearly, BigDecimal::add);
+            countByCategory.merge(row.getCategory(), item.getValue(), Long::sum);
+        }
+
+        List<CategoryCost> categories = new ArrayList<>(yearlyByCategory.size());
+        BigDecimal yearlyTotal = BigDecimal.ZERO.setScale(DISPLAY_SCALE);
+        for (Map.Entry<String, Map<String, BigDecimal>> category : yearlyByCategory.entrySet()) {
+            BigDecimal yearly = BigDecimal.ZERO.setScale(DISPLAY_SCALE);
+            for (Map.Entry<String, BigDecimal> own : category.getValue().entrySet()) {
+                yearly = yearly.add(rates.convert(own.getValue(), own.getKey(), currency)
+                        .setScale(DISPLAY_SCALE, RoundingMode.HALF_EVEN));
+            }
+            categories.add(new CategoryCost(category.getKey(), countByCategory.get(category.getKey()),
+                    monthly(yearly), yearly));
+            yearlyTotal = yearlyTotal.add(yearly);
+        }
+        categories.sort(Comparator.comparing(CategoryCost::getYearlyTotal).reversed()
+                .thenComparing(CategoryCost::getCategory, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new PortfolioCost(currency, monthly(yearlyTotal), yearlyTotal, categories, unavailable, unpriced);
+    }
+
+    /**
+     * Returns the serialized form registered under {@code key}, encoding it on first use.
+     * Callers must treat the returned array as read-only.
+     */
+    public byte[] encoding(String key, Function<CatalogSnapshot, byte[]> encoder) {
+        return encodings.computeIfAbsent(key, k -> encoder.apply(this));
+    }
+
+    private DisplayPriceView displayView(String displayCurrency) {
+        if (displayCurrency == null || displayCurrency.isBlank()) {
+            return null;
+        }
+
+        String currency = displayCurrency.trim().toUpperCase();
+        if (!rates.supports(currency)) {
+            throw new UnsupportedCurrencyException(displayCurrency);
+        }
+
+        return convertedViews.computeIfAbsent(currency, this::convertAll);
+    }
+
+    private DisplayPriceView convertAll(String currency) {
+        long[] displayCents = new long[subscriptions.size()];
+        for (int i = 0; i < displayCents.length; i++) {
+            SubscriptionResponse row = subscriptions.get(i);
+            BigDecimal displayPrice = rates.convert(row.getPrice(), row.getCurrency(), currency);
+            displayCents[i] = displayPrice != null ? toCents(displayPrice) : NO_PRICE;
+        }
+        return new DisplayPriceView(subscriptions, displayCents, currency, facetIndex.prices(displayCents));
+    }
+
+    private static BigDecimal monthly(BigDecimal yearly) {
+        return yearly.divide(BigDecimal.valueOf(12), DISPLAY_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(DISPLAY_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private int positionOf(Long id) {
+        return id != null ? Arrays.binarySearch(ids, id) : -1;
+    }
+
+    // Encoded rows expose their ids directly, so building the lookup array does not decode every row
+    private static long[] idsOf(List<SubscriptionResponse> rows) {
+        long[] ids = new long[rows.size()];
+        CatalogRows encoded = rows instanceof CatalogRows r ? r : null;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = encoded != null ? encoded.id(i) : rows.get(i).getId();
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("Catalog rows must be in ascending id order");
+            }
+        }
+        return ids;
+    }
+
+    private List<SubscriptionResponse> collect(BitSet rows, List<SubscriptionResponse> view) {
+        List<SubscriptionResponse> matches = new ArrayList<>(rows.cardinality());
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            matches.add(view.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * A catalog converted to one display currency: the converted prices are kept as a column of cents and
+     * joined to the underlying row when it is read, instead of copying every row per currency. The same
+     * column is indexed for facet queries in that currency.
+     */
+    private static final class DisplayPriceView extends AbstractList<SubscriptionResponse> implements RandomAccess {
+
+        private final List<SubscriptionResponse> rows;
+        private final long[] displayCents;
+        private final String currency;
+        private final FacetIndex.Prices prices;
+
+        DisplayPriceView(List<SubscriptionResponse> rows, long[] displayCents, String currency,
+                         FacetIndex.Prices prices) {
+            this.rows = rows;
+            this.displayCents = displayCents;
+            this.currency = currency;
+            this.prices = prices;
+        }
+
+        @Override
+        public int size() {
+            return displayCents.length;
+        }
+
+        @Override
+        public SubscriptionResponse get(int index) {
+            long cents = displayCents[index];
+            BigDecimal displayPrice = cents == NO_PRICE ? null : BigDecimal.valueOf(cents, DISPLAY_SCALE);
+            return SubscriptionMapper.withDisplayPrice(rows.get(index), displayPrice, currency);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented heap form of the active catalog, used when the memory-mapped {@link CatalogFile} is disabled
+ * or cannot be written. Ids and prices are primitive columns, category is an int code into an interned
+ * dictionary, currency and billing period are short codes into dictionaries seeded with the configured
+ * currencies and {@link BillingPeriod} names, and the always-true active flag is not stored at all.
+ * {@link #get} builds a {@link SubscriptionResponse} only for the row being read.
+ */
+final class CompactRows extends AbstractList<SubscriptionResponse> implements RandomAccess, CatalogRows {
+
+    private final long[] ids;
+    private final long[] priceUnscaled;
+    private final byte[] priceScale;
+    private final int[] categories;
+    private final short[] currencies;
+    private final short[] billingPeriods;
+    private final String[] names;
+    private final String[] descriptions;
+    private final String[] websiteUrls;
+    private final String[] logoUrls;
+
+    private final CatalogDictionary categoryDictionary = new CatalogDictionary();
+    private final CatalogDictionary currencyDictionary;
+    private final CatalogDictionary billingPeriodDictionary = new CatalogDictionary(BillingPeriod.names());
+
+    CompactRows(List<SubscriptionResponse> rows, Collection<String> knownCurrencies) {
+        int size = rows.size();
+        this.ids = new long[size];
+        this.priceUnscaled = new long[size];
+        this.priceScale = new byte[size];
+        this.categories = new int[size];
+        this.currencies = new short[size];
+        this.billingPeriods = new short[size];
+        this.names = new String[size];
+        this.descriptions = new String[size];
+        this.websiteUrls = new String[size];
+        this.logoUrls = new String[size];
+        this.currencyDictionary = new CatalogDictionary(knownCurrencies.toArray(String[]::new));
+
+        for (int i = 0; i < size; i++) {
+            SubscriptionResponse row = rows.get(i);
+            ids[i] = row.getId();
+            // subscriptions.price is NUMERIC(10, 2), so the unscaled value always fits a long
+            priceUnscaled[i] = row.getPrice().unscaledValue().longValueExact();
+            priceScale[i] = (byte) row.getPrice().scale();
+            categories[i] = categoryDictionary.encode(row.getCategory());
+            currencies[i] = shortCode(currencyDictionary.encode(row.getCurrency()));
+            billingPeriods[i] = shortCode(billingPeriodDictionary.encode(row.getBillingPeriod()));
+            names[i] = row.getName();
+            descriptions[i] = row.getDescription();
+            websiteUrls[i] = row.getWebsiteUrl();
+            logoUrls[i] = row.getLogoUrl();
+        }
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public SubscriptionResponse get(int index) {
+        return new SubscriptionResponse(
+                ids[index],
+                names[index],
+                descriptions[index],
+                BigDecimal.valueOf(priceUnscaled[index], priceScale[index]),
+                currencyDictionary.decode(currencies[index]),
+                categoryDictionary.decode(categories[index]),
+                billingPeriodDictionary.decode(billingPeriods[index]),
+                websiteUrls[index],
+                logoUrls[index],
+                true);
+    }
+
+    @Override
+    public long id(int index) {
+        return ids[index];
+    }
+
+    private static short shortCode(int code) {
+        if (code > Short.MAX_VALUE) {
+            throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct values in a short-coded column");
+        }
+        return (short) code;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bitset index over the rows of a {@link CatalogSnapshot}. Every facet value owns a {@link BitSet} whose bit
+ * {@code i} is set when row {@code i} carries that value, so combining filters is a bitwise OR inside a
+ * dimension and a bitwise AND across dimensions.
+ */
+public class FacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String BILLING_PERIOD = "billingPeriod";
+    public static final String CURRENCY = "currency";
+    public static final String PRICE_BAND = "priceBand";
+
+    // Price of a row that has no price in the column's currency; such rows match no range or band and sort last
+    static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final int PRICE_SCALE = 2;
+
+    private final int size;
+    private final BigDecimal[] bandBounds;
+    private final long[] bandBoundCents;
+    private final Prices ownPrices;
+    private final Map<String, Map<String, BitSet>> dimensions = new LinkedHashMap<>();
+
+    FacetIndex(List<SubscriptionResponse> rows, BigDecimal[] bandBounds) {
+        this.size = rows.size();
+        this.bandBounds = bandBounds;
+        this.bandBoundCents = new long[bandBounds.length];
+        for (int band = 0; band < bandBounds.length; band++) {
+            // price < bound holds exactly when cents < bound rounded up to cents
+            bandBoundCents[band] = toCents(bandBounds[band], RoundingMode.CEILING);
+        }
+
+        Map<String, BitSet> categories = new TreeMap<>();
+        Map<String, BitSet> billingPeriods = new TreeMap<>();
+        Map<String, BitSet> currencies = new TreeMap<>();
+        long[] cents = new long[size];
+        for (int i = 0; i < size; i++) {
+            SubscriptionResponse row = rows.get(i);
+            cents[i] = row.getPrice().setScale(PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            mark(categories, row.getCategory(), i);
+            mark(billingPeriods, row.getBillingPeriod(), i);
+            mark(currencies, row.getCurrency(), i);
+        }
+        this.ownPrices = prices(cents);
+
+        dimensions.put(CATEGORY, categories);
+        dimensions.put(BILLING_PERIOD, billingPeriods);
+        dimensions.put(CURRENCY, currencies);
+        dimensions.put(PRICE_BAND, ownPrices.bands);
+    }
+
+    /**
+     * Builds the sort order and price bands over one price per row, in cents of a single currency. The index
+     * holds one for the rows' own prices; {@link CatalogSnapshot} builds one per display currency, so rows in
+     * different currencies are ranked and range-checked against each other.
+     */
+    Prices prices(long[] cents) {
+        Map<String, BitSet> bands = new LinkedHashMap<>();
+        for (int band = 0; band <= bandBounds.length; band++) {
+            bands.put(bandLabel(band), new BitSet(size));
+        }
+
+        List<Integer> order = new ArrayList<>(size);
+        int priced = 0;
+        for (int i = 0; i < size; i++) {
+            order.add(i);
+            if (cents[i] != NO_PRICE) {
+                bands.get(bandLabel(bandOf(cents[i]))).set(i);
+                priced++;
+            }
+        }
+        order.sort(Comparator.comparing((Integer i) -> cents[i] == NO_PRICE)
+                .thenComparingLong(i -> cents[i])
+                .thenComparing(i -> i));
+
+        return new Prices(cents, order.stream().mapToInt(Integer::intValue).toArray(), priced, bands);
+    }
+
+    /**
+     * Evaluates the query against the rows' own prices; see {@link #select(FacetQuery, Prices)}.
+     */
+    Selection select(FacetQuery query) {
+        return select(query, ownPrices);
+    }
+
+    /**
+     * Evaluates the query and returns the matching row positions ordered by {@code prices}, together with the
+     * facet counts. The price range and price bands are taken from {@code prices} too. A dimension's counts
+     * are computed against every other active filter but not its own, so the client can still see how many
+     * rows each alternative value would yield.
+     */
+    Selection select(FacetQuery query, Prices prices) {
+        Map<String, Map<String, BitSet>> facets = new LinkedHashMap<>(dimensions);
+        facets.put(PRICE_BAND, prices.bands);
+
+        BitSet priceRange = priceRange(prices, query.getMinPrice(), query.getMaxPrice());
+
+        Map<String, BitSet> masks = new LinkedHashMap<>();
+        putMask(masks, facets.get(CATEGORY), CATEGORY, query.getCategories());
+        putMask(masks, facets.get(BILLING_PERIOD), BILLING_PERIOD, query.getBillingPeriods());
+        putMask(masks, facets.get(CURRENCY), CURRENCY, query.getCurrencies());
+        putMask(masks, facets.get(PRICE_BAND), PRICE_BAND, query.getPriceBands());
+
+        BitSet matches = (BitSet) priceRange.clone();
+        masks.values().forEach(matches::and);
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        BitSet scratch = new BitSet(size);
+        for (Map.Entry<String, Map<String, BitSet>> dimension : facets.entrySet()) {
+            BitSet base = (BitSet) priceRange.clone();
+            masks.forEach((name, mask) -> {
+                if (!name.equals(dimension.getKey())) {
+                    base.and(mask);
+                }
+            });
+
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, BitSet> value : dimension.getValue().entrySet()) {
+                scratch.clear();
+                scratch.or(base);
+                scratch.and(value.getValue());
+                valueCounts.put(value.getKey(), scratch.cardinality());
+            }
+            counts.put(dimension.getKey(), valueCounts);
+        }
+
+        boolean descending = "desc".equalsIgnoreCase(query.getSortDir());
+        int[] positions = new int[matches.cardinality()];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            // Unpriced rows stay last in both directions
+            int position = prices.order[descending && i < prices.priced ? prices.priced - 1 - i : i];
+            if (matches.get(position)) {
+                positions[next++] = position;
+            }
+        }
+
+        return new Selection(positions, counts);
+    }
+
+    /**
+     * Returns the rows carrying {@code value} in {@code dimension}, or an empty set when none do.
+     * The returned set is shared and must not be modified.
+     */
+    BitSet rowsWith(String dimension, String value) {
+        BitSet bits = dimensions.get(dimension).get(value);
+        return bits != null ? bits : new BitSet(0);
+    }
+
+    private BitSet priceRange(Prices prices, BigDecimal minPrice, BigDecimal maxPrice) {
+        BitSet range = new BitSet(size);
+        if (minPrice == null && maxPrice == null) {
+            range.set(0, size);
+            return range;
+        }
+
+        int from = minPrice == null ? 0 : lowerBound(prices, toCents(minPrice, RoundingMode.CEILING));
+        int to = maxPrice == null ? prices.priced : upperBound(prices, toCents(maxPrice, RoundingMode.FLOOR));
+        for (int i = from; i < to; i++) {
+            range.set(prices.order[i]);
+        }
+        return range;
+    }
+
+    // First index in the priced part of the order whose price is >= value
+    private static int lowerBound(Prices prices, long value) {
+        int low = 0;
+        int high = prices.priced;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices.cents[prices.order[mid]] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index in the priced part of the order whose price is > value
+    private static int upperBound(Prices prices, long value) {
+        int low = 0;
+        int high = prices.priced;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices.cents[prices.order[mid]] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Rounds a query bound towards the prices it admits, so comparing cents gives the same answer as comparing
+    // the exact amounts; bounds beyond the long range are clamped
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        BigInteger cents = amount.setScale(PRICE_SCALE, rounding).unscaledValue();
+        if (cents.bitLength() > 63) {
+            return cents.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    private void putMask(Map<String, BitSet> masks, Map<String, BitSet> index, String dimension,
+                         Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+
+        BitSet mask = new BitSet(size);
+        for (String value : values) {
+            BitSet bits = index.get(value);
+            if (bits != null) {
+                mask.or(bits);
+            }
+        }
+        masks.put(dimension, mask);
+    }
+
+    private void mark(Map<String, BitSet> index, String value, int position) {
+        if (value != null) {
+            index.computeIfAbsent(value, v -> new BitSet(size)).set(position);
+        }
+    }
+
+    private int bandOf(long cents) {
+        for (int band = 0; band < bandBoundCents.length; band++) {
+            if (cents < bandBoundCents[band]) {
+                return band;
+            }
+        }
+        return bandBounds.length;
+    }
+
+    private String bandLabel(int band) {
+        String lower = band == 0 ? "0" : bandBounds[band - 1].toPlainString();
+        if (band == bandBounds.length) {
+            return lower + "+";
+        }
+        return lower + "-" + bandBounds[band].toPlainString();
+    }
+
+    /**
+     * One price per row in cents of a single currency (subscriptions.price is NUMERIC(10, 2)), so range
+     * lookups compare primitives. {@code order} lists the priced rows by ascending price, then the unpriced ones.
+     */
+    static final class Prices {
+        private final long[] cents;
+        private final int[] order;
+        private final int priced;
+        private final Map<String, BitSet> bands;
+
+        private Prices(long[] cents, int[] order, int priced, Map<String, BitSet> bands) {
+            this.cents = cents;
+            this.order = order;
+            this.priced = priced;
+            this.bands = bands;
+        }
+    }
+
+    static class Selection {
+        private final int[] positions;
+        private final Map<String, Map<String, Integer>> facets;
+
+        Selection(int[] positions, Map<String, Map<String, Integer>> facets) {
+            this.positions = positions;
+            this.facets = facets;
+        }
+
+        int[] getPositions() {
+            return positions;
+        }
+
+        Map<String, Map<String, Integer>> getFacets() {
+            return facets;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.event.FxRatesChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the FX rate table from a locally configured properties resource and reloads it periodically.
+ * A {@link FxRatesChangedEvent} is published only when the rates actually differ from the previous load.
+ */
+@Component
+public class FxRateProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(FxRateProvider.class);
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${fx.base-currency:AZN}")
+    private String baseCurrency;
+
+    @Value("${fx.rates-location:classpath:fx-rates.properties}")
+    private String ratesLocation;
+
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    private volatile FxRateTable table;
+
+    @PostConstruct
+    public void init() {
+        table = new FxRateTable(versionCounter.incrementAndGet(), baseCurrency, readRates());
+        logger.info("Loaded {} FX rates against {}", table.getRates().size(), baseCurrency);
+    }
+
+    public FxRateTable current() {
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${fx.reload-interval:300000}", initialDelayString = "${fx.reload-interval:300000}")
+    public void reload() {
+        Map<String, BigDecimal> rates = readRates();
+        if (rates.isEmpty() || rates.equals(table.getRates())) {
+            return;
+        }
+
+        table = new FxRateTable(versionCounter.incrementAndGet(), baseCurrency, rates);
+        logger.info("FX rates changed, table version is now {}", table.getVersion());
+        eventPublisher.publishEvent(new FxRatesChangedEvent(table));
+    }
+
+    private Map<String, BigDecimal> readRates() {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        Properties properties = new Properties();
+
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (Exception e) {
+            logger.error("Failed to read FX rates from {}: {}", ratesLocation, e.getMessage());
+            return table != null ? table.getRates() : Collections.emptyMap();
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String currency : properties.stringPropertyNames()) {
+            try {
+                rates.put(currency.trim().toUpperCase(), new BigDecimal(properties.getProperty(currency).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid FX rate for {}: {}", currency, properties.getProperty(currency));
+            }
+        }
+        return rates;
+    }
+}
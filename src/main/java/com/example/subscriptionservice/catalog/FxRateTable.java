@@ -0,0 +1,68 @@
+package com.example.subscriptionservice.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of exchange rates, each expressed as units of the base currency per one unit of the
+ * listed currency. The base currency itself always has a rate of one.
+ */
+public class FxRateTable {
+
+    private static final int PRICE_SCALE = 2;
+
+    private final long version;
+    private final String baseCurrency;
+    private final Map<String, BigDecimal> rates;
+
+    public FxRateTable(long version, String baseCurrency, Map<String, BigDecimal> rates) {
+        this.version = version;
+        this.baseCurrency = baseCurrency;
+        this.rates = Collections.unmodifiableMap(rates);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public Set<String> getCurrencies() {
+        return rates.keySet();
+    }
+
+    public boolean supports(String currency) {
+        return baseCurrency.equals(currency) || rates.containsKey(currency);
+    }
+
+    /**
+     * Converts {@code amount} between two supported currencies, rounded to the price scale.
+     * Returns {@code null} when either currency has no configured rate.
+     */
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        if (from.equals(to)) {
+            return amount;
+        }
+
+        BigDecimal fromRate = rateOf(from);
+        BigDecimal toRate = rateOf(to);
+        if (fromRate == null || toRate == null) {
+            return null;
+        }
+
+        return amount.multiply(fromRate).divide(toRate, PRICE_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal rateOf(String currency) {
+        return baseCurrency.equals(currency) ? BigDecimal.ONE : rates.get(currency);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.event.CatalogRefreshedEvent;
+import com.example.subscriptionservice.event.FxRatesChangedEvent;
+import com.example.subscriptionservice.event.ScheduledChangesAppliedEvent;
+import com.example.subscriptionservice.event.SubscriptionChangedEvent;
+import com.example.subscriptionservice.repository.SubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link CatalogSnapshot} of active subscriptions. The snapshot is loaded lazily on
+ * first access and rebuilt after every committed admin mutation or FX rate change, and after changes other
+ * instances committed, found by polling the table's {@link CatalogFingerprint}. Unless disabled, its rows
+ * are kept in a memory-mapped {@link CatalogFile} that a restart reuses when the table has not changed;
+ * otherwise they are held as dictionary-encoded {@link CompactRows}.
+ */
+@Component
+public class SubscriptionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionCatalog.class);
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private FxRateProvider fxRateProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${catalog.facets.price-bands:5,10,20,50}")
+    private String[] priceBands;
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${catalog.snapshot.path:${java.io.tmpdir}/subscription-service/catalog.snap}")
+    private String snapshotPath;
+
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    private volatile CatalogSnapshot snapshot;
+
+    // Table version the current snapshot's rows were read at; guarded by this
+    private CatalogFingerprint loadedFingerprint;
+
+    private TransactionTemplate primaryReads;
+
+    @PostConstruct
+    public void init() {
+        // Read-write transactions are routed to the primary. A replica may lag behind rows this instance has
+        // already loaded, and rebuilding from it would roll the catalog back.
+        primaryReads = new TransactionTemplate(transactionManager);
+        primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    public synchronized void refresh() {
+        snapshot = load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        logger.debug("Rebuilding catalog snapshot after {}", event);
+        refresh(List.of(event.getSubscriptionId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduledChangesApplied(ScheduledChangesAppliedEvent event) {
+        logger.debug("Rebuilding catalog snapshot after {}", event);
+        refresh(event.getSubscriptionIds());
+    }
+
+    // Published while holding the lock, so listeners see the refreshes in the order the snapshots were built
+    private synchronized void refresh(List<Long> changedIds) {
+        snapshot = load();
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(snapshot, changedIds));
+    }
+
+    /**
+     * Picks up changes committed by other instances, which publish their events only locally: a scheduled
+     * change claimed by another replica, or an admin write served by one. When the table's fingerprint moved
+     * past the snapshot's, the snapshot is rebuilt and the rows that differ are published as a
+     * {@link CatalogRefreshedEvent}, like a local change. Reads go to the primary, and a fingerprint that is
+     * not ahead of the loaded one is ignored, so the catalog never moves back to older rows.
+     */
+    @Scheduled(fixedDelayString = "${catalog.sync-interval-ms:5000}",
+            initialDelayString = "${catalog.sync-interval-ms:5000}")
+    public void syncWithDatabase() {
+        if (snapshot == null) {
+            // Not loaded yet; the first load reads the current table anyway
+            return;
+        }
+        try {
+            CatalogFingerprint latest = onPrimary(subscriptionRepository::findCatalogFingerprint);
+            synchronized (this) {
+                if (!latest.isAheadOf(loadedFingerprint)) {
+                    return;
+                }
+                CatalogSnapshot previous = snapshot;
+                snapshot = load();
+                List<Long> changedIds = changedIds(previous.getSubscriptions(), snapshot.getSubscriptions());
+                logger.info("Catalog changed on another instance, {} subscriptions differ", changedIds.size());
+                if (!changedIds.isEmpty()) {
+                    eventPublisher.publishEvent(new CatalogRefreshedEvent(snapshot, changedIds));
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to check the catalog for changes: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public synchronized void onFxRatesChanged(FxRatesChangedEvent event) {
+        if (snapshot != null) {
+            snapshot = snapshot.withRates(versionCounter.incrementAndGet(), event.getRates());
+            logger.info("Catalog snapshot version {} now uses FX table version {}",
+                    snapshot.getVersion(), event.getRates().getVersion());
+        }
+    }
+
+    // Ids of rows added, removed or changed between two id-ordered row lists
+    private static List<Long> changedIds(List<SubscriptionResponse> before, List<SubscriptionResponse> after) {
+        List<Long> changed = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < before.size() || j < after.size()) {
+            SubscriptionResponse old = i < before.size() ? before.get(i) : null;
+            SubscriptionResponse current = j < after.size() ? after.get(j) : null;
+            int order = old == null ? 1 : current == null ? -1 : Long.compare(old.getId(), current.getId());
+            if (order < 0) {
+                changed.add(old.getId());
+                i++;
+            } else if (order > 0) {
+                changed.add(current.getId());
+                j++;
+            } else {
+                if (!old.equals(current)) {
+                    changed.add(current.getId());
+                }
+                i++;
+                j++;
+            }
+        }
+        return changed;
+    }
+
+    // Callers hold the lock; records the fingerprint the rows were read at
+    private CatalogSnapshot load() {
+        // Read before the rows, so a write committing in between can only make the snapshot look stale
+        CatalogFingerprint fingerprint = onPrimary(subscriptionRepository::findCatalogFingerprint);
+        List<SubscriptionResponse> subscriptions = snapshotEnabled
+                ? loadMapped(Path.of(snapshotPath), fingerprint)
+                : onPrimary(subscriptionRepository::findActiveResponses);
+        loadedFingerprint = fingerprint;
+        if (!(subscriptions instanceof CatalogRows)) {
+            subscriptions = new CompactRows(subscriptions, fxRateProvider.current().getCurrencies());
+        }
+
+        BigDecimal[] bounds = Arrays.stream(priceBands)
+                .map(String::trim)
+                .map(BigDecimal::new)
+                .sorted()
+                .toArray(BigDecimal[]::new);
+
+        CatalogSnapshot loaded = new CatalogSnapshot(versionCounter.incrementAndGet(), subscriptions, bounds,
+                fxRateProvider.current());
+        logger.info("Loaded catalog snapshot version {} with {} active subscriptions",
+                loaded.getVersion(), subscriptions.size());
+
+        return loaded;
+    }
+
+    /**
+     * Maps the on-disk snapshot when it was written at the database's current fingerprint; otherwise reads
+     * the active rows from Postgres and rewrites the file first. The fingerprint is read before the rows, so
+     * a write committing in between can only make the file look stale, never current while missing that write.
+     */
+    private List<SubscriptionResponse> loadMapped(Path path, CatalogFingerprint fingerprint) {
+        List<SubscriptionResponse> rows = null;
+        try {
+            List<SubscriptionResponse> mapped = CatalogFile.open(path, fingerprint);
+            if (mapped != null) {
+                logger.info("Mapped catalog snapshot {} at {}", path, fingerprint);
+                return mapped;
+            }
+
+            rows = onPrimary(subscriptionRepository::findActiveResponses);
+            CatalogFile.write(path, fingerprint, rows);
+            mapped = CatalogFile.open(path, fingerprint);
+            if (mapped != null) {
+                logger.info("Wrote catalog snapshot {} at {}", path, fingerprint);
+                return mapped;
+            }
+            logger.warn("Catalog snapshot {} was replaced while mapping it, serving from the heap", path);
+        } catch (IOException e) {
+            logger.warn("Cannot use catalog snapshot {}, serving from the heap: {}", path, e.getMessage());
+        }
+        return rows != null ? rows : onPrimary(subscriptionRepository::findActiveResponses);
+    }
+
+    private <T> T onPrimary(Supplier<T> read) {
+        return primaryReads.execute(status -> read.get());
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class DataLoader implements CommandLineRunner {
@@ -27,51 +29,56 @@ public class DataLoader implements CommandLineRunner {
     }
 
     private void loadSubscriptionData() {
+        List<Subscription> subscriptions = new ArrayList<>();
+
         // Streaming Services
-        createSubscription("Netflix", "Video streaming service", new BigDecimal("9.99"), "Streaming", "MONTHLY",
+        createSubscription(subscriptions, "Netflix", "Video streaming service", new BigDecimal("9.99"), "Streaming", "MONTHLY",
                 "https://netflix.com", "https://logo.clearbit.com/netflix.com");
 
-        createSubscription("Spotify", "Music streaming service", new BigDecimal("9.99"), "Music", "MONTHLY",
+        createSubscription(subscriptions, "Spotify", "Music streaming service", new BigDecimal("9.99"), "Music", "MONTHLY",
                 "https://spotify.com", "https://logo.clearbit.com/spotify.com");
 
-        createSubscription("YouTube Premium", "Ad-free YouTube and music", new BigDecimal("11.99"), "Streaming", "MONTHLY",
+        createSubscription(subscriptions, "YouTube Premium", "Ad-free YouTube and music", new BigDecimal("11.99"), "Streaming", "MONTHLY",
                 "https://youtube.com", "https://logo.clearbit.com/youtube.com");
 
-        createSubscription("Amazon Prime", "Shopping and streaming benefits", new BigDecimal("8.99"), "Shopping", "MONTHLY",
+        createSubscription(subscriptions, "Amazon Prime", "Shopping and streaming benefits", new BigDecimal("8.99"), "Shopping", "MONTHLY",
                 "https://amazon.com", "https://logo.clearbit.com/amazon.com");
 
         // Gaming Services
-        createSubscription("PlayStation Plus", "Gaming subscription", new BigDecimal("9.99"), "Gaming", "MONTHLY",
+        createSubscription(subscriptions, "PlayStation Plus", "Gaming subscription", new BigDecimal("9.99"), "Gaming", "MONTHLY",
                 "https://playstation.com", "https://logo.clearbit.com/playstation.com");
 
-        createSubscription("Xbox Game Pass", "Gaming subscription", new BigDecimal("14.99"), "Gaming", "MONTHLY",
+        createSubscription(subscriptions, "Xbox Game Pass", "Gaming subscription", new BigDecimal("14.99"), "Gaming", "MONTHLY",
                 "https://xbox.com", "https://logo.clearbit.com/xbox.com");
 
         // Software Services
-        createSubscription("Microsoft 365", "Office suite", new BigDecimal("6.99"), "Software", "MONTHLY",
+        createSubscription(subscriptions, "Microsoft 365", "Office suite", new BigDecimal("6.99"), "Software", "MONTHLY",
                 "https://microsoft.com", "https://logo.clearbit.com/microsoft.com");
 
-        createSubscription("Adobe Creative Cloud", "Design software suite", new BigDecimal("20.99"), "Software", "MONTHLY",
+        createSubscription(subscriptions, "Adobe Creative Cloud", "Design software suite", new BigDecimal("20.99"), "Software", "MONTHLY",
                 "https://adobe.com", "https://logo.clearbit.com/adobe.com");
 
         // Cloud Storage
-        createSubscription("Dropbox", "Cloud storage service", new BigDecimal("9.99"), "Storage", "MONTHLY",
+        createSubscription(subscriptions, "Dropbox", "Cloud storage service", new BigDecimal("9.99"), "Storage", "MONTHLY",
                 "https://dropbox.com", "https://logo.clearbit.com/dropbox.com");
 
-        createSubscription("iCloud+", "Apple cloud storage", new BigDecimal("0.99"), "Storage", "MONTHLY",
+        createSubscription(subscriptions, "iCloud+", "Apple cloud storage", new BigDecimal("0.99"), "Storage", "MONTHLY",
                 "https://apple.com", "https://logo.clearbit.com/apple.com");
 
+        // Saved in one transaction so Hibernate can send the inserts as a single JDBC batch
+        subscriptionRepository.saveAll(subscriptions);
+
         logger.info("Initial subscription data loaded successfully");
     }
 
-    private void createSubscription(String name, String description, BigDecimal price,
+    private void createSubscription(List<Subscription> subscriptions, String name, String description, BigDecimal price,
                                     String category, String billingPeriod, String websiteUrl, String logoUrl) {
         if (!subscriptionRepository.existsByName(name)) {
             Subscription subscription = new Subscription(name, description, price, "AZN", category, billingPeriod);
             subscription.setWebsiteUrl(websiteUrl);
             subscription.setLogoUrl(logoUrl);
-            subscriptionRepository.save(subscription);
-            logger.debug("Created subscription: {}", name);
+            subscriptions.add(subscription);
+            logger.debug("Prepared subscription: {}", name);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.subscriptionservice.config;
+
+import com.example.subscriptionservice.dto.CategoryListEnvelope;
+import com.example.subscriptionservice.dto.MessageEnvelope;
+import com.example.subscriptionservice.dto.StatisticsEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionListEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionPageEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(JacksonConfig.class);
+
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(
+            SubscriptionResponse.class,
+            SubscriptionListEnvelope.class,
+            SubscriptionEnvelope.class,
+            SubscriptionPageEnvelope.class,
+            CategoryListEnvelope.class,
+            StatisticsEnvelope.class,
+            MessageEnvelope.class
+    );
+
+    // Replaces reflective getter/field access with generated lambda accessors; picked up by both JSON and CBOR mappers.
+    // A native image cannot define those accessor classes at runtime, so it keeps Jackson's reflective access.
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+
+    // Builds and caches the serializers for every response type at startup instead of on the first request
+    @Bean
+    public CommandLineRunner jacksonSerializerWarmup(ObjectMapper objectMapper,
+                                                     MappingJackson2CborHttpMessageConverter cborConverter) {
+        return args -> {
+            for (Class<?> type : RESPONSE_TYPES) {
+                objectMapper.writerFor(type);
+                cborConverter.getObjectMapper().writerFor(type);
+            }
+            logger.debug("Prepared serializers for {} response types", RESPONSE_TYPES.size());
+        };
+    }
+}
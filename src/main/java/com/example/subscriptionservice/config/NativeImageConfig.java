@@ -0,0 +1,135 @@
+package com.example.subscriptionservice.config;
+
+import com.example.subscriptionservice.catalog.CatalogFingerprint;
+import com.example.subscriptionservice.dto.AuditPageEnvelope;
+import com.example.subscriptionservice.dto.CategoryListEnvelope;
+import com.example.subscriptionservice.dto.CategoryCount;
+import com.example.subscriptionservice.dto.CostEnvelope;
+import com.example.subscriptionservice.dto.CostRequest;
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.FacetResult;
+import com.example.subscriptionservice.dto.MessageEnvelope;
+import com.example.subscriptionservice.dto.PriceBucketResponse;
+import com.example.subscriptionservice.dto.PriceHistoryEnvelope;
+import com.example.subscriptionservice.dto.PriceTrendEnvelope;
+import com.example.subscriptionservice.dto.PriceTrendPoint;
+import com.example.subscriptionservice.dto.ScheduledChangeEnvelope;
+import com.example.subscriptionservice.dto.ScheduledChangeListEnvelope;
+import com.example.subscriptionservice.dto.ScheduledChangeRequest;
+import com.example.subscriptionservice.dto.SearchAnalyticsEnvelope;
+import com.example.subscriptionservice.dto.SearchAnalyticsState;
+import com.example.subscriptionservice.dto.SimilarEnvelope;
+import com.example.subscriptionservice.dto.StatisticsEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionListEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionPageEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionRequest;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.dto.TrendingEnvelope;
+import com.example.subscriptionservice.entity.AuditEntry;
+import com.example.subscriptionservice.entity.ScheduledChange;
+import com.example.subscriptionservice.entity.Subscription;
+import com.example.subscriptionservice.entity.SubscriptionPriceBucket;
+import com.example.subscriptionservice.entity.SubscriptionPriceChange;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the GraalVM native image ({@code ./gradlew nativeCompile}). Spring AOT
+ * already covers beans, configuration properties and controller signatures; this adds what it cannot see:
+ * the entity and the DTOs Hibernate and Jackson instantiate reflectively, jjwt's implementation classes,
+ * which jjwt-api loads by name, and the classpath resources read outside Spring's resource handling.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        SubscriptionRequest.class,
+        SubscriptionResponse.class,
+        FacetQuery.class,
+        FacetResult.class,
+        SubscriptionListEnvelope.class,
+        SubscriptionEnvelope.class,
+        SubscriptionPageEnvelope.class,
+        CategoryListEnvelope.class,
+        StatisticsEnvelope.class,
+        MessageEnvelope.class,
+        PriceHistoryEnvelope.class,
+        PriceTrendEnvelope.class,
+        ScheduledChangeRequest.class,
+        ScheduledChangeEnvelope.class,
+        ScheduledChangeListEnvelope.class,
+        AuditPageEnvelope.class,
+        TrendingEnvelope.class,
+        SearchAnalyticsEnvelope.class,
+        SearchAnalyticsState.class,
+        SimilarEnvelope.class,
+        CostRequest.class,
+        CostEnvelope.class
+})
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+    // Looked up by name from jjwt-api (Jwts, Keys) and instantiated through their no-arg constructors
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            // Discovered through ServiceLoader to (de)serialize headers and claims
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Hibernate reads and writes the entity's fields directly and builds the
+            // constructor-expression projections reflectively
+            for (Class<?> entity : List.of(Subscription.class, SubscriptionPriceChange.class,
+                    SubscriptionPriceBucket.class, SubscriptionPriceBucket.Key.class, ScheduledChange.class,
+                    AuditEntry.class)) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (Class<?> projection : List.of(SubscriptionResponse.class, CatalogFingerprint.class,
+                    PriceBucketResponse.class, PriceTrendPoint.class, CategoryCount.class)) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            for (String type : JJWT_IMPLEMENTATIONS) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            hints.resources().registerPattern("ehcache.xml");
+            hints.resources().registerPattern("fx-rates.properties");
+            hints.resources().registerPattern("mail-templates/*");
+        }
+    }
+}
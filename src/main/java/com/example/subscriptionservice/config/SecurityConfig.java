@@ -1,8 +1,12 @@
 package com.example.subscriptionservice.config;
 
+import com.example.subscriptionservice.ratelimit.ClientRateLimitFilter;
+import com.example.subscriptionservice.ratelimit.RateLimitProperties;
 import com.example.subscriptionservice.security.JwtAuthenticationEntryPoint;
 import com.example.subscriptionservice.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -15,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
@@ -23,19 +28,32 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Autowired
+    private ClientRateLimitFilter clientRateLimitFilter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/loggers/**", "/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers("/api/subscriptions/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(clientRateLimitFilter, JwtAuthenticationFilter.class)
                 .cors(cors -> cors.configure(http));
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    // The rate limiter needs the authenticated subject, so it must only run inside the security chain
+    @Bean
+    public FilterRegistrationBean<ClientRateLimitFilter> clientRateLimitFilterRegistration(ClientRateLimitFilter filter) {
+        FilterRegistrationBean<ClientRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
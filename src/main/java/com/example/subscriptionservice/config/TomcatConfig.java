@@ -0,0 +1,50 @@
+package com.example.subscriptionservice.config;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tunes the HTTP/2 upgrade protocol Spring Boot adds to the connector when {@code server.http2.enabled} is set.
+ * Without TLS the connector then accepts h2c, both through the HTTP/1.1 Upgrade header and with prior knowledge,
+ * which is how internal callers reach the service. HTTP/2 streams reuse the connector's
+ * {@code server.compression} settings, so gzip applies to both protocols.
+ */
+@Configuration
+public class TomcatConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TomcatConfig.class);
+
+    @Value("${tomcat.http2.keep-alive-timeout-ms:30000}")
+    private long keepAliveTimeoutMs;
+
+    @Value("${tomcat.http2.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+
+    @Value("${tomcat.http2.max-concurrent-stream-execution:20}")
+    private int maxConcurrentStreamExecution;
+
+    @Bean
+    public TomcatConnectorCustomizer http2ProtocolCustomizer() {
+        return this::customizeHttp2;
+    }
+
+    private void customizeHttp2(Connector connector) {
+        for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+            if (upgradeProtocol instanceof Http2Protocol http2Protocol) {
+                http2Protocol.setKeepAliveTimeout(keepAliveTimeoutMs);
+                http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+                // Streams beyond this wait for a request thread instead of starving other connections
+                http2Protocol.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                logger.info("HTTP/2 enabled on port {} (max streams: {}, executing per connection: {})",
+                        connector.getPort(), maxConcurrentStreams, maxConcurrentStreamExecution);
+            }
+        }
+    }
+}
@@ -1,7 +1,39 @@
 package com.example.subscriptionservice.controller;
 
+import com.example.subscriptionservice.analytics.SearchAnalytics;
+import com.example.subscriptionservice.dto.AuditEntryResponse;
+import com.example.subscriptionservice.dto.AuditPageEnvelope;
+import com.example.subscriptionservice.dto.CategoryListEnvelope;
+import com.example.subscriptionservice.dto.CostEnvelope;
+import com.example.subscriptionservice.dto.CostRequest;
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.FacetResult;
+import com.example.subscriptionservice.dto.MessageEnvelope;
+import com.example.subscriptionservice.dto.PortfolioCost;
+import com.example.subscriptionservice.dto.PriceBucketResponse;
+import com.example.subscriptionservice.dto.PriceHistoryEnvelope;
+import com.example.subscriptionservice.dto.PriceTrendEnvelope;
+import com.example.subscriptionservice.dto.PriceTrendPoint;
+import com.example.subscriptionservice.dto.ScheduledChangeEnvelope;
+import com.example.subscriptionservice.dto.ScheduledChangeListEnvelope;
+import com.example.subscriptionservice.dto.ScheduledChangeRequest;
+import com.example.subscriptionservice.dto.ScheduledChangeResponse;
+import com.example.subscriptionservice.dto.SearchAnalyticsEnvelope;
+import com.example.subscriptionservice.dto.SearchAnalyticsState;
+import com.example.subscriptionservice.dto.SimilarEnvelope;
+import com.example.subscriptionservice.dto.SimilarSubscription;
+import com.example.subscriptionservice.dto.StatisticsEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionListEnvelope;
+import com.example.subscriptionservice.dto.SubscriptionPageEnvelope;
 import com.example.subscriptionservice.dto.SubscriptionRequest;
 import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.dto.SubscriptionStatistics;
+import com.example.subscriptionservice.dto.TrendingEnvelope;
+import com.example.subscriptionservice.dto.TrendingSubscription;
+import com.example.subscriptionservice.schedule.ScheduledChangeService;
+import com.example.subscriptionservice.service.AuditService;
+import com.example.subscriptionservice.service.PriceHistoryService;
 import com.example.subscriptionservice.service.SubscriptionService;
 import com.example.subscriptionservice.util.UserContextUtil;
 import jakarta.validation.Valid;
@@ -12,14 +44,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subscriptions")
@@ -28,343 +64,376 @@ public class SubscriptionController {
 
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionController.class);
 
+    private static final int MAX_TRENDING = 50;
+    private static final int MAX_SEARCH_TERMS = 100;
+    private static final int MAX_SIMILAR = 20;
+
     @Autowired
     private SubscriptionService subscriptionService;
 
     @Autowired
-    private UserContextUtil userContextUtil;
+    private PriceHistoryService priceHistoryService;
 
-    // Public/User endpoints
-    @GetMapping("/available")
-    public ResponseEntity<?> getAllAvailableSubscriptions() {
-        try {
-            logger.info("Get all available subscriptions request received");
-            List<SubscriptionResponse> subscriptions = subscriptionService.getAllSubscriptions();
+    @Autowired
+    private ScheduledChangeService scheduledChangeService;
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscriptions", subscriptions);
-            response.put("count", subscriptions.size());
+    @Autowired
+    private AuditService auditService;
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get all available subscriptions", e);
+    @Autowired
+    private SearchAnalytics searchAnalytics;
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @Autowired
+    private UserContextUtil userContextUtil;
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    // Public/User endpoints
+    @GetMapping("/available")
+    public ResponseEntity<?> getAllAvailableSubscriptions(
+            @RequestParam(required = false) String displayCurrency,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("Get all available subscriptions request received");
+        if (acceptsCbor(accept)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .body(subscriptionService.getAllSubscriptionsAsCbor(displayCurrency));
         }
+
+        List<SubscriptionResponse> subscriptions = subscriptionService.getAllSubscriptions(displayCurrency);
+
+        return ResponseEntity.ok(SubscriptionListEnvelope.of(subscriptions));
     }
 
     @GetMapping("/available/{id}")
-    public ResponseEntity<?> getAvailableSubscriptionById(@PathVariable Long id) {
-        try {
-            logger.info("Get available subscription by ID request received: {}", id);
-            SubscriptionResponse subscription = subscriptionService.getSubscriptionById(id);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscription", subscription);
+    public ResponseEntity<SubscriptionEnvelope> getAvailableSubscriptionById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String displayCurrency) {
+        logger.info("Get available subscription by ID request received: {}", id);
+        SubscriptionResponse subscription = subscriptionService.getSubscriptionById(id, displayCurrency);
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get available subscription by ID: {}", id, e);
+        return ResponseEntity.ok(SubscriptionEnvelope.of(subscription));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @GetMapping("/available/{id}/similar")
+    public ResponseEntity<SimilarEnvelope> getSimilarSubscriptions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) String displayCurrency) {
+        logger.info("Get similar subscriptions request received for ID: {}", id);
+        List<SimilarSubscription> similar = subscriptionService.getSimilarSubscriptions(
+                id, Math.max(1, Math.min(limit, MAX_SIMILAR)), displayCurrency);
 
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-        }
+        return ResponseEntity.ok(SimilarEnvelope.of(id, similar));
     }
 
-    @GetMapping("/available/category/{category}")
-    public ResponseEntity<?> getAvailableSubscriptionsByCategory(@PathVariable String category) {
-        try {
-            logger.info("Get available subscriptions by category request received: {}", category);
-            List<SubscriptionResponse> subscriptions = subscriptionService.getSubscriptionsByCategory(category);
+    @GetMapping("/available/trending")
+    public ResponseEntity<TrendingEnvelope> getTrendingSubscriptions(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String displayCurrency) {
+        logger.info("Get trending subscriptions request received: {}", limit);
+        List<TrendingSubscription> trending = subscriptionService.getTrendingSubscriptions(
+                Math.max(1, Math.min(limit, MAX_TRENDING)), displayCurrency);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscriptions", subscriptions);
-            response.put("category", category);
-            response.put("count", subscriptions.size());
+        return ResponseEntity.ok(TrendingEnvelope.of(trending));
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get available subscriptions by category: {}", category, e);
+    @GetMapping("/available/category/{category}")
+    public ResponseEntity<?> getAvailableSubscriptionsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String displayCurrency,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("Get available subscriptions by category request received: {}", category);
+        if (acceptsCbor(accept)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .body(subscriptionService.getSubscriptionsByCategoryAsCbor(category, displayCurrency));
+        }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+        List<SubscriptionResponse> subscriptions = subscriptionService.getSubscriptionsByCategory(category, displayCurrency);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+        return ResponseEntity.ok(SubscriptionListEnvelope.forCategory(subscriptions, category));
     }
 
     @GetMapping("/available/categories")
-    public ResponseEntity<?> getAllAvailableCategories() {
-        try {
-            logger.info("Get all available categories request received");
-            List<String> categories = subscriptionService.getAllCategories();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("categories", categories);
-            response.put("count", categories.size());
+    public ResponseEntity<CategoryListEnvelope> getAllAvailableCategories() {
+        logger.info("Get all available categories request received");
+        List<String> categories = subscriptionService.getAllCategories();
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get all available categories", e);
+        return ResponseEntity.ok(CategoryListEnvelope.of(categories));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @GetMapping("/available/search")
+    public ResponseEntity<SubscriptionListEnvelope> searchAvailableSubscriptions(
+            @RequestParam String name,
+            @RequestParam(required = false) String displayCurrency) {
+        logger.info("Search available subscriptions request received: {}", name);
+        List<SubscriptionResponse> subscriptions = subscriptionService.searchSubscriptions(name, displayCurrency);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+        return ResponseEntity.ok(SubscriptionListEnvelope.forSearch(subscriptions, name));
     }
 
-    @GetMapping("/available/search")
-    public ResponseEntity<?> searchAvailableSubscriptions(@RequestParam String name) {
-        try {
-            logger.info("Search available subscriptions request received: {}", name);
-            List<SubscriptionResponse> subscriptions = subscriptionService.searchSubscriptions(name);
+    @GetMapping("/available/filter")
+    public ResponseEntity<SubscriptionListEnvelope> filterAvailableSubscriptions(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> billingPeriod,
+            @RequestParam(required = false) List<String> currency,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String displayCurrency) {
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscriptions", subscriptions);
-            response.put("searchTerm", name);
-            response.put("count", subscriptions.size());
+        FacetQuery query = new FacetQuery(category, billingPeriod, currency, priceBand, minPrice, maxPrice, sortDir,
+                displayCurrency);
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to search available subscriptions: {}", name, e);
+        logger.info("Filter available subscriptions request received: {}", query);
+        FacetResult result = subscriptionService.filterSubscriptions(query);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+        return ResponseEntity.ok(SubscriptionListEnvelope.withFacets(result));
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+    @PostMapping("/available/cost")
+    public ResponseEntity<CostEnvelope> calculateCost(
+            @Valid @RequestBody CostRequest request,
+            @RequestParam(required = false) String displayCurrency) {
+        logger.info("Calculate portfolio cost request received for {} items", request.getItems().size());
+        PortfolioCost cost = subscriptionService.calculateCost(request.getItems(), displayCurrency);
+
+        return ResponseEntity.ok(CostEnvelope.of(cost));
     }
 
     // Admin endpoints
     @PostMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> createSubscription(@Valid @RequestBody SubscriptionRequest request) {
-        try {
-            String currentUser = userContextUtil.getCurrentUsername();
-            logger.info("Admin create subscription request received by: {} for: {}", currentUser, request.getName());
-
-            SubscriptionResponse subscription = subscriptionService.createSubscription(request);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Subscription created successfully");
-            response.put("subscription", subscription);
+    public ResponseEntity<SubscriptionEnvelope> createSubscription(@Valid @RequestBody SubscriptionRequest request) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin create subscription request received by: {} for: {}", currentUser, request.getName());
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            logger.error("Failed to create subscription: {}", request.getName(), e);
+        SubscriptionResponse subscription = subscriptionService.createSubscription(request);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SubscriptionEnvelope.of("Subscription created successfully", subscription));
     }
 
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllSubscriptionsForAdmin(
+    public ResponseEntity<SubscriptionPageEnvelope> getAllSubscriptionsForAdmin(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) Boolean isActive) {
 
-        try {
-            Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                    Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-            Pageable pageable = PageRequest.of(page, size, sort);
-
-            Page<SubscriptionResponse> subscriptions = subscriptionService.getAllSubscriptionsForAdmin(pageable, isActive);
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscriptions", subscriptions.getContent());
-            response.put("currentPage", subscriptions.getNumber());
-            response.put("totalItems", subscriptions.getTotalElements());
-            response.put("totalPages", subscriptions.getTotalPages());
+        Page<SubscriptionResponse> subscriptions = subscriptionService.getAllSubscriptionsForAdmin(pageable, isActive);
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get all subscriptions for admin", e);
+        return ResponseEntity.ok(SubscriptionPageEnvelope.of(subscriptions));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @GetMapping("/admin/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SubscriptionEnvelope> getSubscriptionByIdForAdmin(@PathVariable Long id) {
+        logger.info("Admin get subscription by ID request received: {}", id);
+        SubscriptionResponse subscription = subscriptionService.getSubscriptionByIdForAdmin(id);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+        return ResponseEntity.ok(SubscriptionEnvelope.of(subscription));
     }
 
-    @GetMapping("/admin/{id}")
+    @PutMapping("/admin/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getSubscriptionByIdForAdmin(@PathVariable Long id) {
-        try {
-            logger.info("Admin get subscription by ID request received: {}", id);
-            SubscriptionResponse subscription = subscriptionService.getSubscriptionByIdForAdmin(id);
+    public ResponseEntity<SubscriptionEnvelope> updateSubscription(@PathVariable Long id,
+                                                                   @Valid @RequestBody SubscriptionRequest request) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin update subscription request received by: {} for ID: {}", currentUser, id);
+
+        SubscriptionResponse subscription = subscriptionService.updateSubscription(id, request);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscription", subscription);
+        return ResponseEntity.ok(SubscriptionEnvelope.of("Subscription updated successfully", subscription));
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get subscription by ID for admin: {}", id, e);
+    @DeleteMapping("/admin/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageEnvelope> deleteSubscription(@PathVariable Long id) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin delete subscription request received by: {} for ID: {}", currentUser, id);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+        subscriptionService.deleteSubscription(id);
 
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-        }
+        return ResponseEntity.ok(MessageEnvelope.ok("Subscription deleted successfully"));
     }
 
-    @PutMapping("/admin/{id}")
+    @PostMapping("/admin/{id}/activate")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> updateSubscription(@PathVariable Long id,
-                                                @Valid @RequestBody SubscriptionRequest request) {
-        try {
-            String currentUser = userContextUtil.getCurrentUsername();
-            logger.info("Admin update subscription request received by: {} for ID: {}", currentUser, id);
+    public ResponseEntity<SubscriptionEnvelope> activateSubscription(@PathVariable Long id) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin activate subscription request received by: {} for ID: {}", currentUser, id);
 
-            SubscriptionResponse subscription = subscriptionService.updateSubscription(id, request);
+        SubscriptionResponse subscription = subscriptionService.activateSubscription(id);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Subscription updated successfully");
-            response.put("subscription", subscription);
+        return ResponseEntity.ok(SubscriptionEnvelope.of("Subscription activated successfully", subscription));
+    }
+
+    @GetMapping("/admin/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatisticsEnvelope> getSubscriptionStatistics() {
+        logger.info("Admin get subscription statistics request received");
+        SubscriptionStatistics statistics = subscriptionService.getSubscriptionStatistics();
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to update subscription ID: {}", id, e);
+        return ResponseEntity.ok(StatisticsEnvelope.of(statistics));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @GetMapping("/admin/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SubscriptionPageEnvelope> searchSubscriptionsForAdmin(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        Pageable pageable = PageRequest.of(page, size);
+        Page<SubscriptionResponse> subscriptions = subscriptionService.searchSubscriptionsForAdmin(searchTerm, pageable);
+
+        return ResponseEntity.ok(SubscriptionPageEnvelope.of(subscriptions, searchTerm));
     }
 
-    @DeleteMapping("/admin/{id}")
+    @GetMapping("/admin/{id}/price-history")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> deleteSubscription(@PathVariable Long id) {
-        try {
-            String currentUser = userContextUtil.getCurrentUsername();
-            logger.info("Admin delete subscription request received by: {} for ID: {}", currentUser, id);
+    public ResponseEntity<PriceHistoryEnvelope> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
 
-            subscriptionService.deleteSubscription(id);
+        LocalDate[] range = priceHistoryService.resolveRange(from, to);
+        List<PriceBucketResponse> days = priceHistoryService.getPriceHistory(id, range[0], range[1]);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Subscription deleted successfully");
+        return ResponseEntity.ok(PriceHistoryEnvelope.of(id, range[0], range[1], days));
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to delete subscription ID: {}", id, e);
+    @GetMapping("/admin/price-trends")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PriceTrendEnvelope> getCategoryPriceTrend(
+            @RequestParam String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+        LocalDate[] range = priceHistoryService.resolveRange(from, to);
+        List<PriceTrendPoint> trend = priceHistoryService.getCategoryPriceTrend(category, range[0], range[1]);
 
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-        }
+        return ResponseEntity.ok(PriceTrendEnvelope.of(category, range[0], range[1], trend));
     }
 
-    @PostMapping("/admin/{id}/activate")
+    @PostMapping("/admin/{id}/scheduled-changes")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> activateSubscription(@PathVariable Long id) {
-        try {
-            String currentUser = userContextUtil.getCurrentUsername();
-            logger.info("Admin activate subscription request received by: {} for ID: {}", currentUser, id);
+    public ResponseEntity<ScheduledChangeEnvelope> scheduleChange(@PathVariable Long id,
+                                                                  @Valid @RequestBody ScheduledChangeRequest request) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin schedule change request received by: {} for ID: {}", currentUser, id);
 
-            SubscriptionResponse subscription = subscriptionService.activateSubscription(id);
+        ScheduledChangeResponse change = scheduledChangeService.scheduleChange(id, request);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Subscription activated successfully");
-            response.put("subscription", subscription);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ScheduledChangeEnvelope.of("Change scheduled successfully", change));
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to activate subscription ID: {}", id, e);
+    @GetMapping("/admin/{id}/scheduled-changes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScheduledChangeListEnvelope> getScheduledChanges(@PathVariable Long id) {
+        List<ScheduledChangeResponse> changes = scheduledChangeService.getScheduledChanges(id);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+        return ResponseEntity.ok(ScheduledChangeListEnvelope.of(id, changes));
+    }
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+    @DeleteMapping("/admin/scheduled-changes/{changeId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageEnvelope> cancelScheduledChange(@PathVariable Long changeId) {
+        String currentUser = userContextUtil.getCurrentUsername();
+        logger.info("Admin cancel scheduled change request received by: {} for change: {}", currentUser, changeId);
+
+        scheduledChangeService.cancelChange(changeId);
+
+        return ResponseEntity.ok(MessageEnvelope.ok("Scheduled change cancelled successfully"));
     }
 
-    @GetMapping("/admin/statistics")
+    @GetMapping("/admin/audit")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getSubscriptionStatistics() {
-        try {
-            logger.info("Admin get subscription statistics request received");
-            Map<String, Object> statistics = subscriptionService.getSubscriptionStatistics();
+    public ResponseEntity<AuditPageEnvelope> getAuditEntries(
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) Long subscriptionId,
+            @RequestParam(defaultValue = "50") int size) {
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("statistics", statistics);
+        int pageSize = auditService.pageSize(size);
+        List<AuditEntryResponse> entries = auditService.getEntries(before, actor, subscriptionId, pageSize);
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to get subscription statistics", e);
+        return ResponseEntity.ok(AuditPageEnvelope.of(entries, pageSize));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
+    @GetMapping("/admin/search-analytics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchAnalyticsEnvelope> getSearchAnalytics(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchAnalytics.report(Math.max(1, Math.min(limit, MAX_SEARCH_TERMS))));
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        }
+    // Raw sketch state of this instance, for merging on another replica
+    @GetMapping("/admin/search-analytics/state")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchAnalyticsState> getSearchAnalyticsState() {
+        return ResponseEntity.ok(searchAnalytics.state());
     }
 
-    @GetMapping("/admin/search")
+    @PostMapping("/admin/search-analytics/merged")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> searchSubscriptionsForAdmin(
-            @RequestParam String searchTerm,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<SearchAnalyticsEnvelope> mergeSearchAnalytics(
+            @RequestBody List<SearchAnalyticsState> states,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("Admin merged search analytics request received for {} other instances", states.size());
 
+        return ResponseEntity.ok(searchAnalytics.mergedReport(states, Math.max(1, Math.min(limit, MAX_SEARCH_TERMS))));
+    }
+
+    // Catalog endpoints serve a pre-encoded CBOR body; every other endpoint negotiates CBOR through the converter.
+    // CBOR is chosen only when the client ranks it above JSON: by quality, then by how specifically each is
+    // named, then by header order.
+    private boolean acceptsCbor(String accept) {
+        if (accept == null || !accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return false;
+        }
+
+        List<MediaType> accepted;
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<SubscriptionResponse> subscriptions = subscriptionService.searchSubscriptionsForAdmin(searchTerm, pageable);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("subscriptions", subscriptions.getContent());
-            response.put("currentPage", subscriptions.getNumber());
-            response.put("totalItems", subscriptions.getTotalElements());
-            response.put("totalPages", subscriptions.getTotalPages());
-            response.put("searchTerm", searchTerm);
-
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Failed to search subscriptions for admin with term: {}", searchTerm, e);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+
+        MediaType cbor = acceptedRange(accepted, MediaType.APPLICATION_CBOR);
+        MediaType json = acceptedRange(accepted, MediaType.APPLICATION_JSON);
+        if (cbor == null || cbor.getQualityValue() == 0) {
+            return false;
+        }
+        if (json == null) {
+            return true;
+        }
+
+        int byQuality = Double.compare(cbor.getQualityValue(), json.getQualityValue());
+        if (byQuality != 0) {
+            return byQuality > 0;
+        }
+        if (cbor.isMoreSpecific(json) != json.isMoreSpecific(cbor)) {
+            return cbor.isMoreSpecific(json);
+        }
+        return accepted.indexOf(cbor) < accepted.indexOf(json);
+    }
+
+    // The most specific accepted range that includes the type, whose quality is the one the client gives it
+    private static MediaType acceptedRange(List<MediaType> accepted, MediaType type) {
+        MediaType best = null;
+        for (MediaType range : accepted) {
+            if (range.includes(type) && (best == null || range.isMoreSpecific(best))) {
+                best = range;
+            }
         }
+        return best;
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.subscriptionservice.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically measures replication lag on every replica and keeps the list of replicas that are close
+ * enough to the primary to serve reads. A replica that cannot be reached is treated as unhealthy.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Zero when the replica has replayed everything it received, null when the server is not a standby
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMs;
+
+    private volatile List<String> healthyReplicas = Collections.emptyList();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagMs) {
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public DataSource getReplica(String name) {
+        return replicas.get(name);
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+
+                double lagMs = resultSet.next() ? resultSet.getDouble(1) : 0;
+                if (lagMs <= maxLagMs) {
+                    healthy.add(replica.getKey());
+                } else {
+                    logger.warn("Replica {} is {} ms behind the primary, routing reads elsewhere",
+                            replica.getKey(), (long) lagMs);
+                }
+            } catch (Exception e) {
+                logger.warn("Replica {} lag check failed: {}", replica.getKey(), e.getMessage());
+            }
+        }
+
+        healthyReplicas = Collections.unmodifiableList(healthy);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
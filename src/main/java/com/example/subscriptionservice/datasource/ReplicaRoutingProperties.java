@@ -0,0 +1,32 @@
+package com.example.subscriptionservice.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas lagging further behind the primary than this are taken out of rotation
+    private long maxLagMs = 5000;
+
+    private long lagCheckIntervalMs = 5000;
+
+    // How long a user's reads stay on the primary after that user wrote something
+    private long readYourWritesWindowMs = 10000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.subscriptionservice.dto;
+
+import com.example.subscriptionservice.entity.AuditEntry;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AuditEntryResponse {
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String actor;
+    private String action;
+    private Long subscriptionId;
+
+    // Already JSON in the database; written through without re-parsing
+    @JsonRawValue
+    private String changes;
+
+    public AuditEntryResponse() {
+    }
+
+    public static AuditEntryResponse from(AuditEntry entry) {
+        AuditEntryResponse response = new AuditEntryResponse();
+        response.setId(entry.getId());
+        response.setOccurredAt(entry.getOccurredAt());
+        response.setActor(entry.getActor());
+        response.setAction(entry.getAction());
+        response.setSubscriptionId(entry.getSubscriptionId());
+        response.setChanges(entry.getChanges());
+        return response;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One keyset page of the audit trail. {@code nextCursor} is the {@code before} value for the next page and
+ * is absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuditPageEnvelope(boolean success, List<AuditEntryResponse> entries, int count, Long nextCursor) {
+
+    public static AuditPageEnvelope of(List<AuditEntryResponse> entries, int pageSize) {
+        Long nextCursor = entries.size() == pageSize ? entries.get(entries.size() - 1).getId() : null;
+        return new AuditPageEnvelope(true, entries, entries.size(), nextCursor);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CategoryCost {
+    private String category;
+    // Sum of the item quantities in this category
+    private long subscriptions;
+    private BigDecimal monthlyTotal;
+    private BigDecimal yearlyTotal;
+
+    public CategoryCost() {
+    }
+
+    public CategoryCost(String category, long subscriptions, BigDecimal monthlyTotal, BigDecimal yearlyTotal) {
+        this.category = category;
+        this.subscriptions = subscriptions;
+        this.monthlyTotal = monthlyTotal;
+        this.yearlyTotal = yearlyTotal;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.subscriptionservice.dto;
+
+public record CategoryCount(String category, long count) {
+}
@@ -0,0 +1,10 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.List;
+
+public record CategoryListEnvelope(boolean success, List<String> categories, int count) {
+
+    public static CategoryListEnvelope of(List<String> categories) {
+        return new CategoryListEnvelope(true, categories, categories.size());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.subscriptionservice.dto;
+
+public record CostEnvelope(boolean success, PortfolioCost cost) {
+
+    public static CostEnvelope of(PortfolioCost cost) {
+        return new CostEnvelope(true, cost);
+    }
+}
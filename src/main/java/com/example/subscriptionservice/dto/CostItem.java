@@ -0,0 +1,22 @@
+package com.example.subscriptionservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class CostItem {
+    @NotNull(message = "Subscription ID is required")
+    private Long subscriptionId;
+
+    @Positive(message = "Quantity must be positive")
+    private int quantity = 1;
+
+    public CostItem() {
+    }
+
+    public CostItem(Long subscriptionId, int quantity) {
+        this.subscriptionId = subscriptionId;
+        this.quantity = quantity;
+    }
+}
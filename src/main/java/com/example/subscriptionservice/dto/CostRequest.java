@@ -0,0 +1,23 @@
+package com.example.subscriptionservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CostRequest {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "At most 500 items can be priced at once")
+    private List<@NotNull(message = "Items must not be null") @Valid CostItem> items;
+
+    public CostRequest() {
+    }
+
+    public CostRequest(List<CostItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class FacetQuery {
+    private List<String> categories;
+    private List<String> billingPeriods;
+    private List<String> currencies;
+    private List<String> priceBands;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String sortDir = "asc";
+    private String displayCurrency;
+
+    public FacetQuery() {
+    }
+
+    public FacetQuery(List<String> categories, List<String> billingPeriods, List<String> currencies,
+                      List<String> priceBands, BigDecimal minPrice, BigDecimal maxPrice, String sortDir,
+                      String displayCurrency) {
+        this.categories = categories;
+        this.billingPeriods = billingPeriods;
+        this.currencies = currencies;
+        this.priceBands = priceBands;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.sortDir = sortDir;
+        this.displayCurrency = displayCurrency;
+    }
+}
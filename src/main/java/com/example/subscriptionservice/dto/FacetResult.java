@@ -0,0 +1,20 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class FacetResult {
+    private List<SubscriptionResponse> subscriptions;
+    private Map<String, Map<String, Integer>> facets;
+
+    public FacetResult() {
+    }
+
+    public FacetResult(List<SubscriptionResponse> subscriptions, Map<String, Map<String, Integer>> facets) {
+        this.subscriptions = subscriptions;
+        this.facets = facets;
+    }
+}
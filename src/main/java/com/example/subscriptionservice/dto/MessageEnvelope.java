@@ -0,0 +1,25 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Envelope for responses that carry only a message: successful deletes and every error.
+ */
+public record MessageEnvelope(boolean success,
+                              String message,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, String> errors) {
+
+    public static MessageEnvelope ok(String message) {
+        return new MessageEnvelope(true, message, null);
+    }
+
+    public static MessageEnvelope error(String message) {
+        return new MessageEnvelope(false, message, null);
+    }
+
+    public static MessageEnvelope error(String message, Map<String, String> errors) {
+        return new MessageEnvelope(false, message, errors);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class PortfolioCost {
+    private String currency;
+    private BigDecimal monthlyTotal;
+    private BigDecimal yearlyTotal;
+    private List<CategoryCost> categories;
+    // Not active subscriptions
+    private List<Long> unavailableIds;
+    // Active, but with a billing period or currency that cannot be normalized
+    private List<Long> unpricedIds;
+
+    public PortfolioCost() {
+    }
+
+    public PortfolioCost(String currency, BigDecimal monthlyTotal, BigDecimal yearlyTotal,
+                         List<CategoryCost> categories, List<Long> unavailableIds, List<Long> unpricedIds) {
+        this.currency = currency;
+        this.monthlyTotal = monthlyTotal;
+        this.yearlyTotal = yearlyTotal;
+        this.categories = categories;
+        this.unavailableIds = unavailableIds;
+        this.unpricedIds = unpricedIds;
+    }
+}
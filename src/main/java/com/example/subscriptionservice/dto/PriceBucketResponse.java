@@ -0,0 +1,31 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class PriceBucketResponse {
+    private LocalDate day;
+    private String currency;
+    private BigDecimal open;
+    private BigDecimal close;
+    private BigDecimal low;
+    private BigDecimal high;
+    private Integer changes;
+
+    public PriceBucketResponse() {
+    }
+
+    public PriceBucketResponse(LocalDate day, String currency, BigDecimal open, BigDecimal close,
+                               BigDecimal low, BigDecimal high, Integer changes) {
+        this.day = day;
+        this.currency = currency;
+        this.open = open;
+        this.close = close;
+        this.low = low;
+        this.high = high;
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.subscriptionservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PriceHistoryEnvelope(boolean success,
+                                   Long subscriptionId,
+                                   LocalDate from,
+                                   LocalDate to,
+                                   List<PriceBucketResponse> days) {
+
+    public static PriceHistoryEnvelope of(Long subscriptionId, LocalDate from, LocalDate to,
+                                          List<PriceBucketResponse> days) {
+        return new PriceHistoryEnvelope(true, subscriptionId, from, to, days);
+    }
+}
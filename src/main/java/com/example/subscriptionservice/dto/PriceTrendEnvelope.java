@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PriceTrendEnvelope(boolean success,
+                                 String category,
+                                 LocalDate from,
+                                 LocalDate to,
+                                 List<PriceTrendPoint> trend) {
+
+    public static PriceTrendEnvelope of(String category, LocalDate from, LocalDate to, List<PriceTrendPoint> trend) {
+        return new PriceTrendEnvelope(true, category, from, to, trend);
+    }
+}
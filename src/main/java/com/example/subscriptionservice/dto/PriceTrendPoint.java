@@ -0,0 +1,34 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Prices of one category on one day in one currency, aggregated over the daily buckets of its subscriptions.
+ */
+@Data
+public class PriceTrendPoint {
+    private LocalDate day;
+    private String currency;
+    private BigDecimal averageClose;
+    private BigDecimal low;
+    private BigDecimal high;
+    private Long subscriptions;
+
+    public PriceTrendPoint() {
+    }
+
+    // Takes the sum rather than AVG(), which JPQL returns as a Double, so the average stays exact to the cent
+    public PriceTrendPoint(LocalDate day, String currency, BigDecimal closeSum, Long subscriptions,
+                           BigDecimal low, BigDecimal high) {
+        this.day = day;
+        this.currency = currency;
+        this.averageClose = closeSum.divide(BigDecimal.valueOf(subscriptions), 2, RoundingMode.HALF_EVEN);
+        this.low = low;
+        this.high = high;
+        this.subscriptions = subscriptions;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ScheduledChangeEnvelope(boolean success, String message, ScheduledChangeResponse change) {
+
+    public static ScheduledChangeEnvelope of(String message, ScheduledChangeResponse change) {
+        return new ScheduledChangeEnvelope(true, message, change);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.List;
+
+public record ScheduledChangeListEnvelope(boolean success,
+                                          Long subscriptionId,
+                                          List<ScheduledChangeResponse> changes,
+                                          int count) {
+
+    public static ScheduledChangeListEnvelope of(Long subscriptionId, List<ScheduledChangeResponse> changes) {
+        return new ScheduledChangeListEnvelope(true, subscriptionId, changes, changes.size());
+    }
+}
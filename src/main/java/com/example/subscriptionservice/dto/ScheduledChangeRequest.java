@@ -0,0 +1,26 @@
+package com.example.subscriptionservice.dto;
+
+import com.example.subscriptionservice.entity.ScheduledChange;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class ScheduledChangeRequest {
+    @NotNull(message = "Change type is required")
+    private ScheduledChange.Type type;
+
+    @NotNull(message = "Due time is required")
+    @Future(message = "Due time must be in the future")
+    private LocalDateTime dueAt;
+
+    // PRICE changes only; the currency defaults to the subscription's current one
+    @Positive(message = "Price must be positive")
+    private BigDecimal newPrice;
+
+    private String newCurrency;
+}
@@ -0,0 +1,39 @@
+package com.example.subscriptionservice.dto;
+
+import com.example.subscriptionservice.entity.ScheduledChange;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class ScheduledChangeResponse {
+    private Long id;
+    private Long subscriptionId;
+    private ScheduledChange.Type type;
+    private BigDecimal newPrice;
+    private String newCurrency;
+    private LocalDateTime dueAt;
+    private ScheduledChange.Status status;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime executedAt;
+
+    public ScheduledChangeResponse() {
+    }
+
+    public static ScheduledChangeResponse from(ScheduledChange change) {
+        ScheduledChangeResponse response = new ScheduledChangeResponse();
+        response.setId(change.getId());
+        response.setSubscriptionId(change.getSubscriptionId());
+        response.setType(change.getType());
+        response.setNewPrice(change.getNewPrice());
+        response.setNewCurrency(change.getNewCurrency());
+        response.setDueAt(change.getDueAt());
+        response.setStatus(change.getStatus());
+        response.setFailureReason(change.getFailureReason());
+        response.setCreatedAt(change.getCreatedAt());
+        response.setExecutedAt(change.getExecutedAt());
+        return response;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.subscriptionservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SearchAnalyticsEnvelope(boolean success,
+                                      LocalDateTime since,
+                                      int instances,
+                                      long totalSearches,
+                                      long zeroResultSearches,
+                                      List<TermCount> topTerms,
+                                      List<TermCount> topZeroResultTerms) {
+}
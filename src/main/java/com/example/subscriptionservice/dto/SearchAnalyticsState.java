@@ -0,0 +1,11 @@
+package com.example.subscriptionservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything one instance has observed since {@code since}, in a form another instance can merge.
+ */
+public record SearchAnalyticsState(LocalDateTime since,
+                                   SearchSketchState searches,
+                                   SearchSketchState zeroResults) {
+}
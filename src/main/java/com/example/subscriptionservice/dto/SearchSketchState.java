@@ -0,0 +1,16 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.List;
+
+/**
+ * Raw, mergeable state of one search-term sketch: the Count-Min counters and the Space-Saving entries.
+ * {@code floor} is the lowest monitored count once the Space-Saving summary is full, otherwise 0.
+ */
+public record SearchSketchState(long total,
+                                int width,
+                                int depth,
+                                long[][] counts,
+                                int capacity,
+                                long floor,
+                                List<TermCount> top) {
+}
@@ -0,0 +1,10 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.List;
+
+public record SimilarEnvelope(boolean success, Long subscriptionId, List<SimilarSubscription> similar, int count) {
+
+    public static SimilarEnvelope of(Long subscriptionId, List<SimilarSubscription> similar) {
+        return new SimilarEnvelope(true, subscriptionId, similar, similar.size());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+@Data
+public class SimilarSubscription {
+    // Weighted match on category, description, price band and billing period, from 0 to 1
+    private double score;
+    private SubscriptionResponse subscription;
+
+    public SimilarSubscription() {
+    }
+
+    public SimilarSubscription(double score, SubscriptionResponse subscription) {
+        this.score = score;
+        this.subscription = subscription;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.subscriptionservice.dto;
+
+public record StatisticsEnvelope(boolean success, SubscriptionStatistics statistics) {
+
+    public static StatisticsEnvelope of(SubscriptionStatistics statistics) {
+        return new StatisticsEnvelope(true, statistics);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SubscriptionEnvelope(boolean success, String message, SubscriptionResponse subscription) {
+
+    public static SubscriptionEnvelope of(SubscriptionResponse subscription) {
+        return new SubscriptionEnvelope(true, null, subscription);
+    }
+
+    public static SubscriptionEnvelope of(String message, SubscriptionResponse subscription) {
+        return new SubscriptionEnvelope(true, message, subscription);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SubscriptionListEnvelope(boolean success,
+                                       List<SubscriptionResponse> subscriptions,
+                                       int count,
+                                       String category,
+                                       String searchTerm,
+                                       Map<String, Map<String, Integer>> facets) {
+
+    public static SubscriptionListEnvelope of(List<SubscriptionResponse> subscriptions) {
+        return new SubscriptionListEnvelope(true, subscriptions, subscriptions.size(), null, null, null);
+    }
+
+    public static SubscriptionListEnvelope forCategory(List<SubscriptionResponse> subscriptions, String category) {
+        return new SubscriptionListEnvelope(true, subscriptions, subscriptions.size(), category, null, null);
+    }
+
+    public static SubscriptionListEnvelope forSearch(List<SubscriptionResponse> subscriptions, String searchTerm) {
+        return new SubscriptionListEnvelope(true, subscriptions, subscriptions.size(), null, searchTerm, null);
+    }
+
+    public static SubscriptionListEnvelope withFacets(FacetResult result) {
+        return new SubscriptionListEnvelope(true, result.getSubscriptions(), result.getSubscriptions().size(),
+                null, null, result.getFacets());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.subscriptionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SubscriptionPageEnvelope(boolean success,
+                                       List<SubscriptionResponse> subscriptions,
+                                       int currentPage,
+                                       long totalItems,
+                                       int totalPages,
+                                       String searchTerm) {
+
+    public static SubscriptionPageEnvelope of(Page<SubscriptionResponse> page) {
+        return of(page, null);
+    }
+
+    public static SubscriptionPageEnvelope of(Page<SubscriptionResponse> page, String searchTerm) {
+        return new SubscriptionPageEnvelope(true, page.getContent(), page.getNumber(),
+                page.getTotalElements(), page.getTotalPages(), searchTerm);
+    }
+}
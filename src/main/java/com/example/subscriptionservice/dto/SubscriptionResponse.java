@@ -1,5 +1,6 @@
 package com.example.subscriptionservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -17,6 +18,13 @@ public class SubscriptionResponse {
     private String logoUrl;
     private Boolean isActive;
 
+    // Set only when the client asked for a display currency
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal displayPrice;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String displayCurrency;
+
     public SubscriptionResponse() {
     }
 
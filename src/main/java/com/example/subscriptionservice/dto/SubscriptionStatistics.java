@@ -0,0 +1,10 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.Map;
+
+public record SubscriptionStatistics(long activeSubscriptions,
+                                     long inactiveSubscriptions,
+                                     long totalSubscriptions,
+                                     long activeCategories,
+                                     Map<String, Long> subscriptionsByCategory) {
+}
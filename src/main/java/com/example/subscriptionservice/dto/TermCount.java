@@ -0,0 +1,8 @@
+package com.example.subscriptionservice.dto;
+
+/**
+ * A search term with its estimated count. The true count lies between {@code count - error} and
+ * {@code count}.
+ */
+public record TermCount(String term, long count, long error) {
+}
@@ -0,0 +1,10 @@
+package com.example.subscriptionservice.dto;
+
+import java.util.List;
+
+public record TrendingEnvelope(boolean success, List<TrendingSubscription> trending, int count) {
+
+    public static TrendingEnvelope of(List<TrendingSubscription> trending) {
+        return new TrendingEnvelope(true, trending, trending.size());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.subscriptionservice.dto;
+
+import lombok.Data;
+
+@Data
+public class TrendingSubscription {
+    private int rank;
+    // Views plus weighted search appearances, each decayed by its age
+    private double score;
+    private SubscriptionResponse subscription;
+
+    public TrendingSubscription() {
+    }
+
+    public TrendingSubscription(int rank, double score, SubscriptionResponse subscription) {
+        this.rank = rank;
+        this.score = score;
+        this.subscription = subscription;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.subscriptionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the admin audit trail. Rows are inserted in batches by {@code AuditLog} through JDBC and are
+ * never updated; the entity exists for the keyset queries behind {@code /admin/audit}.
+ */
+@Entity
+@Data
+@Immutable
+@Table(name = "admin_audit_log")
+public class AuditEntry {
+
+    @Id
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "actor", nullable = false)
+    private String actor;
+
+    @Column(name = "action", nullable = false)
+    private String action;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    // Field diff as JSON: {"price": {"from": 9.99, "to": 12.99}, ...}
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "changes", nullable = false)
+    private String changes;
+}
@@ -0,0 +1,63 @@
+package com.example.subscriptionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A change to a subscription that an admin has scheduled for a future moment. Executed at most once by
+ * {@code ScheduledChangeExecutor}, after which it stays in the table as DONE or FAILED for auditing.
+ */
+@Entity
+@Data
+@Table(name = "subscription_scheduled_changes")
+public class ScheduledChange {
+
+    public enum Type {
+        PRICE, ACTIVATE, DEACTIVATE
+    }
+
+    public enum Status {
+        PENDING, DONE, FAILED, CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private Type type;
+
+    @Column(name = "new_price", precision = 10, scale = 2)
+    private BigDecimal newPrice;
+
+    @Column(name = "new_currency")
+    private String newCurrency;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "failure_reason", length = 512)
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "executed_at")
+    private LocalDateTime executedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.subscriptionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily price aggregate for one subscription. Rows are only ever written by the upserts in
+ * {@code SubscriptionPriceBucketRepository}; the entity exists so the read queries can use JPQL projections.
+ */
+@Entity
+@Data
+@Table(name = "subscription_price_daily")
+@IdClass(SubscriptionPriceBucket.Key.class)
+public class SubscriptionPriceBucket {
+
+    @Id
+    @Column(name = "subscription_id")
+    private Long subscriptionId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Column(name = "currency", nullable = false)
+    private String currency;
+
+    @Column(name = "open_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal openPrice;
+
+    @Column(name = "close_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal closePrice;
+
+    @Column(name = "low_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal lowPrice;
+
+    @Column(name = "high_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal highPrice;
+
+    @Column(name = "change_count", nullable = false)
+    private Integer changeCount;
+
+    @Data
+    public static class Key implements Serializable {
+        private Long subscriptionId;
+        private LocalDate day;
+    }
+}
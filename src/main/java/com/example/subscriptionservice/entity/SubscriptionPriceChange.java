@@ -0,0 +1,49 @@
+package com.example.subscriptionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only price log (partitioned by month on {@code changed_at}). Written whenever a
+ * subscription is created or its price or currency changes; never updated afterwards.
+ */
+@Entity
+@Data
+@Table(name = "subscription_price_history")
+public class SubscriptionPriceChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_price_history_id_seq")
+    @SequenceGenerator(name = "subscription_price_history_id_seq", sequenceName = "subscription_price_history_id_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "currency", nullable = false)
+    private String currency;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public SubscriptionPriceChange() {}
+
+    public SubscriptionPriceChange(Long subscriptionId, String category, BigDecimal price, String currency,
+                                   LocalDateTime changedAt) {
+        this.subscriptionId = subscriptionId;
+        this.category = category;
+        this.price = price;
+        this.currency = currency;
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.subscriptionservice.event;
+
+import com.example.subscriptionservice.catalog.CatalogSnapshot;
+
+import java.util.List;
+
+/**
+ * Published by {@code SubscriptionCatalog} after it rebuilt its snapshot because subscription rows changed.
+ * Listeners that derive state from the snapshot update only the listed subscriptions; events are published
+ * in snapshot order.
+ */
+public class CatalogRefreshedEvent {
+
+    private final CatalogSnapshot snapshot;
+    private final List<Long> subscriptionIds;
+
+    public CatalogRefreshedEvent(CatalogSnapshot snapshot, List<Long> subscriptionIds) {
+        this.snapshot = snapshot;
+        this.subscriptionIds = List.copyOf(subscriptionIds);
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public List<Long> getSubscriptionIds() {
+        return subscriptionIds;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogRefreshedEvent{version=" + snapshot.getVersion() + ", subscriptionIds=" + subscriptionIds + "}";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.subscriptionservice.event;
+
+import com.example.subscriptionservice.catalog.FxRateTable;
+
+/**
+ * Published by {@code FxRateProvider} when a reload produced a different rate table.
+ */
+public class FxRatesChangedEvent {
+
+    private final FxRateTable rates;
+
+    public FxRatesChangedEvent(FxRateTable rates) {
+        this.rates = rates;
+    }
+
+    public FxRateTable getRates() {
+        return rates;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.subscriptionservice.event;
+
+import java.util.List;
+
+/**
+ * Published once per batch of scheduled changes executed in one transaction, instead of one
+ * {@link SubscriptionChangedEvent} per change, so derived state is rebuilt once per batch.
+ */
+public class ScheduledChangesAppliedEvent {
+
+    private final List<Long> subscriptionIds;
+
+    public ScheduledChangesAppliedEvent(List<Long> subscriptionIds) {
+        this.subscriptionIds = List.copyOf(subscriptionIds);
+    }
+
+    public List<Long> getSubscriptionIds() {
+        return subscriptionIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledChangesAppliedEvent{subscriptionIds=" + subscriptionIds + "}";
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.subscriptionservice.event;
+
+/**
+ * Published by the admin write methods of {@code SubscriptionService} whenever a subscription row changes.
+ * Listeners that keep derived in-memory state (catalog snapshot, indexes) react after the transaction commits.
+ */
+public class SubscriptionChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, ACTIVATED, DEACTIVATED
+    }
+
+    private final Long subscriptionId;
+    private final Type type;
+
+    public SubscriptionChangedEvent(Long subscriptionId, Type type) {
+        this.subscriptionId = subscriptionId;
+        this.type = type;
+    }
+
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriptionChangedEvent{subscriptionId=" + subscriptionId + ", type=" + type + "}";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A write rejected by a database constraint that no earlier check caught, typically because a concurrent
+ * request committed conflicting data first. The constraint detail is logged, never returned.
+ */
+public class DataConflictException extends DomainException {
+
+    public DataConflictException() {
+        super("Request conflicts with existing data");
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected business failures. These are part of normal control flow (bad ids, duplicate
+ * names), so they skip stack trace capture and suppression bookkeeping; {@link GlobalExceptionHandler}
+ * maps them to {@link #getStatus()} without logging a trace.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+}
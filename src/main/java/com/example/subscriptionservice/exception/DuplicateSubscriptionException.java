@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DuplicateSubscriptionException extends DomainException {
+
+    public DuplicateSubscriptionException() {
+        super("Subscription with this name already exists");
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
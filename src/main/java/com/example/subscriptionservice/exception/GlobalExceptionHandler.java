@@ -1,14 +1,20 @@
 package com.example.subscriptionservice.exception;
 
+import com.example.subscriptionservice.dto.MessageEnvelope;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,9 +24,10 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final String SUBSCRIPTION_NAME_CONSTRAINT = "uk_subscriptions_name";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<MessageEnvelope> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
 
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -29,43 +36,71 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
-        response.put("success", false);
-        response.put("message", "Validation failed");
-        response.put("errors", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(MessageEnvelope.error("Validation failed", errors));
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<MessageEnvelope> handleDomainException(DomainException ex) {
+        logger.debug("Domain exception: {}", ex.getMessage());
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return ResponseEntity.status(ex.getStatus()).body(MessageEnvelope.error(ex.getMessage()));
     }
 
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<?> handleAccessDeniedException(AccessDeniedException ex) {
+    public ResponseEntity<MessageEnvelope> handleAccessDeniedException(AccessDeniedException ex) {
         logger.warn("Access denied: {}", ex.getMessage());
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", false);
-        response.put("message", "Access denied");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(MessageEnvelope.error("Access denied"));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<MessageEnvelope> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        logger.debug("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
 
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(MessageEnvelope.error("Invalid value for parameter: " + ex.getName()));
     }
 
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<?> handleRuntimeException(RuntimeException ex) {
-        logger.error("Runtime exception occurred: {}", ex.getMessage());
+    // Malformed or unreadable bodies (bad JSON, wrong types) are client errors; the parser detail stays in the log
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<MessageEnvelope> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        logger.debug("Unreadable request body: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(MessageEnvelope.error("Malformed request body"));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", false);
-        response.put("message", ex.getMessage());
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<MessageEnvelope> handleMissingParameter(MissingServletRequestParameterException ex) {
+        logger.debug("Missing request parameter: {}", ex.getParameterName());
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(MessageEnvelope.error("Missing required parameter: " + ex.getParameterName()));
+    }
+
+    // Concurrent writes can pass the service's existence checks and fail on the constraint instead; the
+    // database message names tables and values, so only the mapped domain error is returned
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<MessageEnvelope> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        logger.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        boolean duplicateName = ex.getCause() instanceof ConstraintViolationException violation
+                && SUBSCRIPTION_NAME_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+        return handleDomainException(duplicateName ? new DuplicateSubscriptionException() : new DataConflictException());
+    }
+
+    // Expected failures are DomainExceptions; anything else reaching here is a server-side fault, and its
+    // message may carry internals, so it stays in the log
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<MessageEnvelope> handleRuntimeException(RuntimeException ex) {
+        logger.error("Runtime exception occurred: {}", ex.getMessage(), ex);
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(MessageEnvelope.error("An unexpected error occurred"));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGenericException(Exception ex) {
+    public ResponseEntity<MessageEnvelope> handleGenericException(Exception ex) {
         logger.error("Unexpected error occurred", ex);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", false);
-        response.put("message", "An unexpected error occurred");
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(MessageEnvelope.error("An unexpected error occurred"));
     }
 }
\ No newline at end of file
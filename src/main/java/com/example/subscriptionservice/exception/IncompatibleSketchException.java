@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class IncompatibleSketchException extends DomainException {
+
+    public IncompatibleSketchException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidScheduledChangeException extends DomainException {
+
+    public InvalidScheduledChangeException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
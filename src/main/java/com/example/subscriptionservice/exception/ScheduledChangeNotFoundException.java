@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ScheduledChangeNotFoundException extends DomainException {
+
+    public ScheduledChangeNotFoundException() {
+        super("Pending scheduled change not found");
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
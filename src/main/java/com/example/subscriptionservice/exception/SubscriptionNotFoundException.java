@@ -0,0 +1,22 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class SubscriptionNotFoundException extends DomainException {
+
+    private final Long subscriptionId;
+
+    public SubscriptionNotFoundException(Long subscriptionId) {
+        super("Subscription not found");
+        this.subscriptionId = subscriptionId;
+    }
+
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.subscriptionservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class UnsupportedCurrencyException extends DomainException {
+
+    public UnsupportedCurrencyException(String currency) {
+        super("Unsupported display currency: " + currency);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.subscriptionservice.notification;
+
+public record MailContent(String subject, String text, String html) {
+}
@@ -0,0 +1,103 @@
+package com.example.subscriptionservice.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A mail template parsed once into alternating literal and placeholder segments, so rendering is a single
+ * pass of appends with no format-string parsing. {@code {{name}}} inserts a value, HTML-escaped when the
+ * template is HTML; {@code {{{name}}}} inserts it as is, for fragments that were rendered by another template.
+ */
+final class MailTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final boolean[] raw;
+    private final boolean html;
+    private final int literalLength;
+
+    private MailTemplate(List<String> literals, List<String> names, List<Boolean> raw, boolean html) {
+        this.literals = literals.toArray(String[]::new);
+        this.names = names.toArray(String[]::new);
+        this.raw = new boolean[raw.size()];
+        for (int i = 0; i < this.raw.length; i++) {
+            this.raw[i] = raw.get(i);
+        }
+        this.html = html;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    static MailTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            boolean triple = source.startsWith("{{{", open);
+            String closing = triple ? "}}}" : "}}";
+            int start = open + (triple ? 3 : 2);
+            int close = source.indexOf(closing, start);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            names.add(source.substring(start, close).trim());
+            raw.add(triple);
+            position = close + closing.length();
+        }
+        literals.add(source.substring(position));
+
+        return new MailTemplate(literals, names, raw, html);
+    }
+
+    /**
+     * Fails when the template uses a placeholder outside {@code known}, so a typo is caught when templates are
+     * compiled instead of on the first send.
+     */
+    void checkPlaceholders(Set<String> known, String template) {
+        for (String name : names) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown placeholder '" + name + "' in mail template " + template
+                        + "; expected one of " + known);
+            }
+        }
+    }
+
+    String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + names.length * 32);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder '" + names[i] + "'");
+            }
+            if (html && !raw[i]) {
+                escapeHtml(value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    private static void escapeHtml(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
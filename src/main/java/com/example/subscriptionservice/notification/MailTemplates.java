@@ -0,0 +1,135 @@
+package com.example.subscriptionservice.notification;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles every notification template once at startup and renders from the compiled form afterwards.
+ * Subjects come from {@code email.template.*}; text and HTML bodies are read from
+ * {@code email.template.location}. A missing or malformed template, or one using a placeholder that is never
+ * given a value, fails startup rather than the first send.
+ */
+@Component
+public class MailTemplates {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailTemplates.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    // Placeholders each kind of template can use: the keys of values(Notification) and of the digest values
+    private static final Set<String> NOTIFICATION_KEYS = Set.of("subscriptionName", "change", "date");
+    private static final Set<String> DIGEST_KEYS = Set.of("count", "from", "to", "items");
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${email.template.location:classpath:mail-templates/}")
+    private String location;
+
+    private final Map<NotificationType, Compiled> notifications = new EnumMap<>(NotificationType.class);
+
+    private Compiled digest;
+    private Compiled digestItem;
+
+    @PostConstruct
+    public void init() {
+        for (NotificationType type : NotificationType.values()) {
+            notifications.put(type, compile(
+                    environment.getRequiredProperty("email.template.subscription." + type.getKey()),
+                    "subscription-" + type.getKey(), NOTIFICATION_KEYS));
+        }
+        digest = compile(environment.getRequiredProperty("email.template.digest"), "digest", DIGEST_KEYS);
+        digestItem = compile("", "digest-item", NOTIFICATION_KEYS);
+        logger.info("Compiled {} mail templates from {}", notifications.size() + 2, location);
+    }
+
+    public MailContent render(Notification notification) {
+        Map<String, String> values = values(notification);
+        return notifications.get(notification.type()).render(values);
+    }
+
+    /**
+     * Renders one email listing {@code notifications} in order; each entry goes through the digest item
+     * template and the results are inserted into the digest body.
+     */
+    public MailContent renderDigest(List<Notification> notifications) {
+        StringBuilder textItems = new StringBuilder();
+        StringBuilder htmlItems = new StringBuilder();
+        for (Notification notification : notifications) {
+            Map<String, String> values = values(notification);
+            textItems.append(digestItem.text.render(values));
+            htmlItems.append(digestItem.html.render(values));
+        }
+
+        Map<String, String> values = Map.of(
+                "count", Integer.toString(notifications.size()),
+                "from", notifications.get(0).occurredAt().format(DATE_FORMAT),
+                "to", notifications.get(notifications.size() - 1).occurredAt().format(DATE_FORMAT));
+        Map<String, String> textValues = with(values, "items", textItems.toString());
+        return new MailContent(
+                digest.subject.render(textValues),
+                digest.text.render(textValues),
+                digest.html.render(with(values, "items", htmlItems.toString())));
+    }
+
+    private static Map<String, String> values(Notification notification) {
+        return Map.of(
+                "subscriptionName", notification.subscriptionName(),
+                "change", notification.type().getLabel(),
+                "date", notification.occurredAt().format(DATE_FORMAT));
+    }
+
+    private static Map<String, String> with(Map<String, String> values, String key, String value) {
+        Map<String, String> copy = new HashMap<>(values);
+        copy.put(key, value);
+        return copy;
+    }
+
+    private Compiled compile(String subject, String name, Set<String> keys) {
+        Compiled compiled = new Compiled(
+                MailTemplate.compile(subject, false),
+                MailTemplate.compile(read(name + ".txt"), false),
+                MailTemplate.compile(read(name + ".html"), true));
+        compiled.subject.checkPlaceholders(keys, name + " subject");
+        compiled.text.checkPlaceholders(keys, name + ".txt");
+        compiled.html.checkPlaceholders(keys, name + ".html");
+        return compiled;
+    }
+
+    private String read(String file) {
+        Resource resource = resourceLoader.getResource(location + file);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read mail template " + location + file, e);
+        }
+    }
+
+    private record Compiled(MailTemplate subject, MailTemplate text, MailTemplate html) {
+
+        MailContent render(Map<String, String> values) {
+            return new MailContent(subject.render(values), text.render(values), html.render(values));
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.subscriptionservice.notification;
+
+import java.time.LocalDateTime;
+
+public record Notification(NotificationType type, String subscriptionName, LocalDateTime occurredAt) {
+}
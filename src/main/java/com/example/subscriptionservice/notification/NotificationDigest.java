@@ -0,0 +1,61 @@
+package com.example.subscriptionservice.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects notifications per recipient while digest mode is on. A recipient's window opens with their first
+ * pending notification and closes {@code email.digest.window-ms} later, at which point everything collected
+ * in between is handed out as one batch.
+ */
+@Component
+public class NotificationDigest {
+
+    @Value("${email.digest.window-ms:60000}")
+    private long windowMillis;
+
+    private final Map<String, Window> pending = new HashMap<>();
+
+    public synchronized void add(String recipient, Notification notification) {
+        pending.computeIfAbsent(recipient, r -> new Window(System.currentTimeMillis() + windowMillis))
+                .notifications.add(notification);
+    }
+
+    /**
+     * Removes and returns the batches of every recipient whose window has closed by {@code nowMillis}.
+     */
+    public synchronized Map<String, List<Notification>> drainDue(long nowMillis) {
+        Map<String, List<Notification>> due = new HashMap<>();
+        Iterator<Map.Entry<String, Window>> windows = pending.entrySet().iterator();
+        while (windows.hasNext()) {
+            Map.Entry<String, Window> entry = windows.next();
+            if (entry.getValue().closesAt <= nowMillis) {
+                due.put(entry.getKey(), entry.getValue().notifications);
+                windows.remove();
+            }
+        }
+        return due;
+    }
+
+    public synchronized Map<String, List<Notification>> drainAll() {
+        Map<String, List<Notification>> all = new HashMap<>();
+        pending.forEach((recipient, window) -> all.put(recipient, window.notifications));
+        pending.clear();
+        return all;
+    }
+
+    private static final class Window {
+        final long closesAt;
+        final List<Notification> notifications = new ArrayList<>();
+
+        Window(long closesAt) {
+            this.closesAt = closesAt;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.subscriptionservice.notification;
+
+/**
+ * Admin notifications about subscription changes. Each has a subject under
+ * {@code email.template.subscription.<key>} and text and HTML bodies named {@code subscription-<key>}.
+ */
+public enum NotificationType {
+    CREATED("created", "Created"),
+    UPDATED("updated", "Updated"),
+    ACTIVATED("activated", "Activated"),
+    DEACTIVATED("deactivated", "Deactivated");
+
+    private final String key;
+    private final String label;
+
+    NotificationType(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // How the change is listed in a digest
+    public String getLabel() {
+        return label;
+    }
+}
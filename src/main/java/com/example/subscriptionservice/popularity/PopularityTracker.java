@@ -0,0 +1,194 @@
+package com.example.subscriptionservice.popularity;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts views and search appearances per subscription without touching the database on the request path.
+ * Each subscription has a pair of {@link LongAdder}s, which stripe concurrent increments across cells. A
+ * scheduled flush sends the increments since the previous flush as a single multi-row upsert, weighted
+ * ({@code popularity.search-weight} for search hits) and converted to a forward-decayed log score with
+ * half-life {@code popularity.half-life-hours}. The upsert returns the merged scores, which keep the
+ * {@link TrendingHeap} current; the heap is reseeded from the table periodically so it also reflects other
+ * instances' traffic.
+ */
+@Component
+public class PopularityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularityTracker.class);
+
+    // log(e^a + e^b) without leaving log space, so scores never overflow
+    private static final String UPSERT_SQL = "INSERT INTO subscription_popularity AS p "
+            + "(subscription_id, views, search_hits, log_score, updated_at) "
+            + "SELECT t.id, t.views, t.hits, t.log_score, now() "
+            + "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::float8[]) AS t(id, views, hits, log_score) "
+            + "ON CONFLICT (subscription_id) DO UPDATE SET "
+            + "views = p.views + EXCLUDED.views, "
+            + "search_hits = p.search_hits + EXCLUDED.search_hits, "
+            + "log_score = GREATEST(p.log_score, EXCLUDED.log_score) "
+            + "+ LN(1 + EXP(-ABS(p.log_score - EXCLUDED.log_score))), "
+            + "updated_at = EXCLUDED.updated_at "
+            + "RETURNING subscription_id, log_score";
+
+    private static final String TOP_SQL = "SELECT subscription_id, log_score FROM subscription_popularity "
+            + "ORDER BY log_score DESC LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${popularity.search-weight:0.2}")
+    private double searchWeight;
+
+    @Value("${popularity.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${popularity.heap-size:200}")
+    private int heapSize;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Decay rate per second
+    private double lambda;
+    private TrendingHeap heap;
+
+    @PostConstruct
+    public void init() {
+        lambda = Math.log(2) / (halfLifeHours * 3600);
+        heap = new TrendingHeap(heapSize);
+    }
+
+    public void recordView(Long subscriptionId) {
+        counter(subscriptionId).views.increment();
+    }
+
+    public void recordSearchHits(List<SubscriptionResponse> results) {
+        for (SubscriptionResponse result : results) {
+            counter(result.getId()).searchHits.increment();
+        }
+    }
+
+    /**
+     * Subscription ids on the heap, most popular first, mapped to their current decayed score. Ids are not
+     * checked against the catalog; callers drop inactive ones.
+     */
+    public Map<Long, Double> trending() {
+        double now = lambda * (System.currentTimeMillis() / 1000.0);
+        Map<Long, Double> trending = new LinkedHashMap<>();
+        for (TrendingHeap.Entry entry : heap.descending()) {
+            trending.put(entry.id(), Math.exp(entry.logScore() - now));
+        }
+        return trending;
+    }
+
+    @Scheduled(fixedDelayString = "${popularity.flush-interval-ms:30000}",
+            initialDelayString = "${popularity.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> views = new ArrayList<>();
+        List<Long> hits = new ArrayList<>();
+        List<Double> logScores = new ArrayList<>();
+        List<Counter> flushed = new ArrayList<>();
+
+        double now = lambda * (System.currentTimeMillis() / 1000.0);
+        counters.forEach((id, counter) -> {
+            long viewTotal = counter.views.sum();
+            long hitTotal = counter.searchHits.sum();
+            long newViews = viewTotal - counter.flushedViews;
+            long newHits = hitTotal - counter.flushedSearchHits;
+            if (newViews == 0 && newHits == 0) {
+                return;
+            }
+            ids.add(id);
+            views.add(newViews);
+            hits.add(newHits);
+            logScores.add(Math.log(newViews + searchWeight * newHits) + now);
+            counter.pendingViews = viewTotal;
+            counter.pendingSearchHits = hitTotal;
+            flushed.add(counter);
+        });
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.query(UPSERT_SQL, statement -> {
+                Connection connection = statement.getConnection();
+                statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                statement.setArray(2, connection.createArrayOf("bigint", views.toArray()));
+                statement.setArray(3, connection.createArrayOf("bigint", hits.toArray()));
+                statement.setArray(4, connection.createArrayOf("float8", logScores.toArray()));
+            }, (RowCallbackHandler) row -> heap.offer(row.getLong(1), row.getDouble(2)));
+        } catch (DataAccessException e) {
+            // Nothing is marked as flushed, so the same increments go out with the next flush
+            logger.error("Failed to flush popularity for {} subscriptions: {}", ids.size(), e.getMessage());
+            return;
+        }
+
+        for (Counter counter : flushed) {
+            counter.flushedViews = counter.pendingViews;
+            counter.flushedSearchHits = counter.pendingSearchHits;
+        }
+        logger.debug("Flushed popularity for {} subscriptions", ids.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reseed();
+    }
+
+    @Scheduled(fixedDelayString = "${popularity.reseed-interval-ms:300000}",
+            initialDelayString = "${popularity.reseed-interval-ms:300000}")
+    public void reseed() {
+        try {
+            Map<Long, Double> top = new LinkedHashMap<>();
+            jdbcTemplate.query(TOP_SQL, (RowCallbackHandler) row -> top.put(row.getLong(1), row.getDouble(2)),
+                    heapSize);
+            heap.reset(top);
+        } catch (DataAccessException e) {
+            logger.error("Failed to reload trending subscriptions: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Counter counter(Long subscriptionId) {
+        Counter counter = counters.get(subscriptionId);
+        return counter != null ? counter : counters.computeIfAbsent(subscriptionId, id -> new Counter());
+    }
+
+    /**
+     * Running totals since startup. The adders are never reset, so an increment racing a flush is counted
+     * by the next one instead of being lost; the flushed marks are only touched inside {@link #flush}.
+     */
+    private static final class Counter {
+        final LongAdder views = new LongAdder();
+        final LongAdder searchHits = new LongAdder();
+        long flushedViews;
+        long flushedSearchHits;
+        long pendingViews;
+        long pendingSearchHits;
+    }
+}
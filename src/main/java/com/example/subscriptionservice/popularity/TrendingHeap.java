@@ -0,0 +1,65 @@
+package com.example.subscriptionservice.popularity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The {@code capacity} highest-scoring subscriptions, ordered by log forward-decayed score. Decay lowers
+ * every score by the same factor, so the order of entries that are not updated never changes and the
+ * structure needs no periodic re-sorting; an update only ever raises one entry's score.
+ */
+final class TrendingHeap {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::logScore)
+            .thenComparingLong(Entry::id);
+
+    private final int capacity;
+    private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> byId = new HashMap<>();
+
+    TrendingHeap(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void offer(long id, double logScore) {
+        Entry existing = byId.get(id);
+        if (existing != null) {
+            entries.remove(existing);
+        } else if (entries.size() >= capacity) {
+            Entry lowest = entries.first();
+            if (lowest.logScore() >= logScore) {
+                return;
+            }
+            entries.pollFirst();
+            byId.remove(lowest.id());
+        }
+
+        Entry entry = new Entry(id, logScore);
+        entries.add(entry);
+        byId.put(id, entry);
+    }
+
+    synchronized void reset(Map<Long, Double> scores) {
+        entries.clear();
+        byId.clear();
+        scores.forEach(this::offer);
+    }
+
+    // Snapshot from highest to lowest score
+    synchronized List<Entry> descending() {
+        List<Entry> result = new ArrayList<>(entries.size());
+        Iterator<Entry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    record Entry(long id, double logScore) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.subscriptionservice.ratelimit;
+
+import com.example.subscriptionservice.dto.MessageEnvelope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token bucket limiting and load shedding for the endpoints listed under {@code rate-limit.endpoints}.
+ * Runs in the security chain right after {@code JwtAuthenticationFilter}, so a client is identified by its
+ * JWT subject when the token is valid and by its remote address otherwise. Over-limit clients get 429 and,
+ * while the instance is overloaded, every limited request gets 503; both carry a Retry-After header.
+ */
+@Component
+public class ClientRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientRateLimitFilter.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    private List<Limit> limits;
+    private TokenBuckets buckets;
+
+    @PostConstruct
+    void init() {
+        limits = properties.getEndpoints().stream()
+                .map(endpoint -> {
+                    long emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / endpoint.getRefillPerSecond());
+                    return new Limit(endpoint.getPattern(), emissionNanos, emissionNanos * endpoint.getCapacity());
+                })
+                .toList();
+        buckets = new TokenBuckets(properties.getStripes());
+        logger.info("Rate limiting {} endpoint pattern(s) across {} bucket stripes", limits.size(), properties.getStripes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Limit limit = match(request);
+
+        if (loadShedder.isOverloaded()) {
+            meterRegistry.counter("ratelimit.rejected", "reason", "overloaded").increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service is busy, please retry shortly");
+            return;
+        }
+
+        String client = clientKey(request);
+        long waitNanos = buckets.tryAcquire(limit.pattern() + '|' + client,
+                limit.emissionNanos(), limit.burstNanos(), System.nanoTime());
+        if (waitNanos > 0) {
+            logger.debug("Rate limit exceeded for {} on {}", client, limit.pattern());
+            meterRegistry.counter("ratelimit.rejected", "reason", "rate_limited").increment();
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests");
+            return;
+        }
+
+        loadShedder.enter();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadShedder.exit();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = buckets.evictIdle(System.nanoTime());
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, buckets.size());
+        }
+    }
+
+    // Matched on the decoded path within the application with ;params removed, which is what Spring MVC
+    // dispatches on; the raw URI would let /available/%73earch reach search under the looser /available/** limit
+    private Limit match(HttpServletRequest request) {
+        String path = pathHelper.getPathWithinApplication(request);
+        for (Limit limit : limits) {
+            if (pathMatcher.match(limit.pattern(), path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    // X-Forwarded-For is deliberately ignored: it is client-controlled unless a trusted proxy rewrites
+    // the remote address (server.forward-headers-strategy), in which case getRemoteAddr() already reflects it
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "sub:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), MessageEnvelope.error(message));
+    }
+
+    private record Limit(String pattern, long emissionNanos, long burstNanos) {
+    }
+}
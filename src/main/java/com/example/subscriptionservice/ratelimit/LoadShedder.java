@@ -0,0 +1,108 @@
+package com.example.subscriptionservice.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether this instance is too busy to take another rate-limited request. It counts the requests
+ * currently in flight and samples Hikari pool pressure from the meter registry at most once per sample
+ * interval: threads waiting for a connection right now, and the mean acquire time of the connections taken
+ * since the previous sample. Both describe only the last interval, so one slow acquire cannot keep the
+ * instance shedding for longer than that. (The timer's own max decays over minutes.)
+ */
+@Component
+public class LoadShedder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long nextSampleAt;
+    private volatile boolean poolSaturated;
+
+    // Acquire timer totals at the previous sample, per pool; only touched while sampling
+    private final Map<Timer, long[]> lastAcquireTotals = new HashMap<>();
+
+    public void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isOverloaded() {
+        RateLimitProperties.Shedding shedding = properties.getShedding();
+        if (!shedding.isEnabled()) {
+            return false;
+        }
+        if (inFlight.get() >= shedding.getMaxInFlight()) {
+            return true;
+        }
+        return isPoolSaturated(shedding);
+    }
+
+    private boolean isPoolSaturated(RateLimitProperties.Shedding shedding) {
+        if (System.nanoTime() - nextSampleAt < 0) {
+            return poolSaturated;
+        }
+        return sample(shedding);
+    }
+
+    // One thread samples at a time: the acquire window is the difference from the previous sample
+    private synchronized boolean sample(RateLimitProperties.Shedding shedding) {
+        long now = System.nanoTime();
+        if (now - nextSampleAt < 0) {
+            return poolSaturated;
+        }
+        nextSampleAt = now + TimeUnit.MILLISECONDS.toNanos(shedding.getSampleIntervalMs());
+
+        double pending = 0;
+        for (Gauge gauge : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            pending += gauge.value();
+        }
+        double acquireMs = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            acquireMs = Math.max(acquireMs, windowMeanMs(timer));
+        }
+
+        boolean saturated = pending > shedding.getMaxPendingConnections() || acquireMs > shedding.getMaxAcquireMs();
+        if (saturated != poolSaturated) {
+            logger.warn("Connection pool {} (pending: {}, mean acquire: {} ms)",
+                    saturated ? "saturated, shedding load" : "recovered", (long) pending, (long) acquireMs);
+        }
+        poolSaturated = saturated;
+        return saturated;
+    }
+
+    // Mean acquire time since the previous sample; 0 when no connection was taken in between
+    private double windowMeanMs(Timer timer) {
+        long count = timer.count();
+        long totalNanos = (long) timer.totalTime(TimeUnit.NANOSECONDS);
+        long[] last = lastAcquireTotals.put(timer, new long[]{count, totalNanos});
+        if (last == null || count <= last[0]) {
+            return 0;
+        }
+        return (totalNanos - last[1]) / (double) (count - last[0]) / 1_000_000.0;
+    }
+}
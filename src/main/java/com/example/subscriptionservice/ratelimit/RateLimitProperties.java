@@ -0,0 +1,43 @@
+package com.example.subscriptionservice.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Checked in order, first match wins; requests matching none of them are neither limited nor shed
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    // Number of independent bucket maps; rounded up to a power of two
+    private int stripes = 16;
+
+    private Shedding shedding = new Shedding();
+
+    @Data
+    public static class Endpoint {
+        private String pattern;
+        // Burst a client may spend at once
+        private int capacity = 30;
+        private double refillPerSecond = 10;
+    }
+
+    @Data
+    public static class Shedding {
+        private boolean enabled = true;
+        // Limited requests currently executing on this instance
+        private int maxInFlight = 150;
+        // Threads waiting for a connection, summed over every Hikari pool
+        private int maxPendingConnections = 10;
+        // Mean connection acquire time over the last sample interval, for any Hikari pool
+        private long maxAcquireMs = 500;
+        // How often pool pressure is re-read from the meter registry
+        private long sampleIntervalMs = 100;
+    }
+}
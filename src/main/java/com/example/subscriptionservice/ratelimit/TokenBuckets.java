@@ -0,0 +1,79 @@
+package com.example.subscriptionservice.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by an arbitrary string. Each bucket is a single {@link AtomicLong} holding
+ * its theoretical arrival time (the GCRA form of a token bucket): a request is admitted when, after adding
+ * one emission interval, the arrival time does not run further ahead of now than the burst allows. Keys
+ * are spread over several maps so idle sweeps and resizes never contend on one table.
+ */
+class TokenBuckets {
+
+    private final List<ConcurrentHashMap<String, AtomicLong>> stripes;
+    private final int mask;
+
+    TokenBuckets(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        List<ConcurrentHashMap<String, AtomicLong>> maps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            maps.add(new ConcurrentHashMap<>());
+        }
+        this.stripes = List.copyOf(maps);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @param emissionNanos time needed to refill one token
+     * @param burstNanos    emission interval times the bucket capacity
+     * @return zero when the request is admitted, otherwise how long the caller should wait before retrying
+     */
+    long tryAcquire(String key, long emissionNanos, long burstNanos, long now) {
+        AtomicLong arrival = stripe(key).computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has fully refilled; recreating it on the next request is indistinguishable.
+     * A request racing with the removal may be admitted against the dropped bucket, which only ever errs
+     * towards letting one extra request through.
+     */
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(arrival -> arrival.get() <= now);
+            evicted += before - stripe.size();
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Map<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes.get((hash ^ (hash >>> 16)) & mask);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.subscriptionservice.repository;
+
+import com.example.subscriptionservice.entity.AuditEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    // Keyset page: everything older than the cursor id, newest first; no OFFSET and no count query
+    @Transactional(readOnly = true)
+    @Query("SELECT a FROM AuditEntry a "
+            + "WHERE a.id < :beforeId "
+            + "AND (:actor IS NULL OR a.actor = :actor) "
+            + "AND (:subscriptionId IS NULL OR a.subscriptionId = :subscriptionId) "
+            + "ORDER BY a.id DESC")
+    List<AuditEntry> findPage(@Param("beforeId") Long beforeId,
+                              @Param("actor") String actor,
+                              @Param("subscriptionId") Long subscriptionId,
+                              Pageable pageable);
+}
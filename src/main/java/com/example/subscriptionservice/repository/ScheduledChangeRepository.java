@@ -0,0 +1,42 @@
+package com.example.subscriptionservice.repository;
+
+import com.example.subscriptionservice.entity.ScheduledChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledChangeRepository extends JpaRepository<ScheduledChange, Long> {
+
+    // Locks the claimed rows for the caller's transaction; rows another instance is already executing are
+    // skipped instead of waited on, so each change runs exactly once across replicas
+    @Query(value = "SELECT * FROM subscription_scheduled_changes "
+            + "WHERE status = 'PENDING' AND due_at <= :now "
+            + "ORDER BY due_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ScheduledChange> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT c FROM ScheduledChange c "
+            + "WHERE c.status = com.example.subscriptionservice.entity.ScheduledChange.Status.PENDING "
+            + "AND c.dueAt < :horizon")
+    List<ScheduledChange> findPendingDueBefore(@Param("horizon") LocalDateTime horizon);
+
+    @Transactional(readOnly = true)
+    List<ScheduledChange> findBySubscriptionIdOrderByDueAtDesc(Long subscriptionId);
+
+    // A conditional update rather than read-then-write: if an instance is executing the change right now, this
+    // waits for its lock and then matches nothing because the row is no longer PENDING
+    @Modifying
+    @Query("UPDATE ScheduledChange c "
+            + "SET c.status = com.example.subscriptionservice.entity.ScheduledChange.Status.CANCELLED "
+            + "WHERE c.id = :id "
+            + "AND c.status = com.example.subscriptionservice.entity.ScheduledChange.Status.PENDING")
+    int cancelPending(@Param("id") Long id);
+}
@@ -0,0 +1,50 @@
+package com.example.subscriptionservice.repository;
+
+import com.example.subscriptionservice.dto.PriceBucketResponse;
+import com.example.subscriptionservice.dto.PriceTrendPoint;
+import com.example.subscriptionservice.entity.SubscriptionPriceBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SubscriptionPriceBucketRepository
+        extends JpaRepository<SubscriptionPriceBucket, SubscriptionPriceBucket.Key>,
+        SubscriptionPriceBucketRepositoryCustom {
+
+    // Carries every active subscription's current price into the day; idempotent, so every instance may run it
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO subscription_price_daily "
+            + "(subscription_id, day, category, currency, open_price, close_price, low_price, high_price, change_count) "
+            + "SELECT s.id, :day, s.category, s.currency, s.price, s.price, s.price, s.price, 0 "
+            + "FROM subscriptions s WHERE s.is_active "
+            + "ON CONFLICT (subscription_id, day) DO NOTHING",
+            nativeQuery = true)
+    int openDay(@Param("day") LocalDate day);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.subscriptionservice.dto.PriceBucketResponse("
+            + "b.day, b.currency, b.openPrice, b.closePrice, b.lowPrice, b.highPrice, b.changeCount) "
+            + "FROM SubscriptionPriceBucket b "
+            + "WHERE b.subscriptionId = :subscriptionId AND b.day BETWEEN :from AND :to ORDER BY b.day")
+    List<PriceBucketResponse> findDays(@Param("subscriptionId") Long subscriptionId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.subscriptionservice.dto.PriceTrendPoint("
+            + "b.day, b.currency, SUM(b.closePrice), COUNT(b), MIN(b.lowPrice), MAX(b.highPrice)) "
+            + "FROM SubscriptionPriceBucket b "
+            + "WHERE b.category = :category AND b.day BETWEEN :from AND :to "
+            + "GROUP BY b.day, b.currency ORDER BY b.day, b.currency")
+    List<PriceTrendPoint> findCategoryTrend(@Param("category") String category,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+}
@@ -0,0 +1,22 @@
+package com.example.subscriptionservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bucket upserts sent through JDBC rather than as a native Hibernate query, which would flush the whole
+ * session and evict every second-level cache region before each statement.
+ */
+public interface SubscriptionPriceBucketRepositoryCustom {
+
+    /**
+     * Folds the price changes into their days' buckets as one JDBC batch, in list order. A currency change
+     * restarts the bucket in the new currency, so open/low/high never mix currencies.
+     */
+    void recordChanges(List<BucketChange> changes);
+
+    record BucketChange(Long subscriptionId, LocalDate day, String category, String currency,
+                        BigDecimal openPrice, BigDecimal price) {
+    }
+}
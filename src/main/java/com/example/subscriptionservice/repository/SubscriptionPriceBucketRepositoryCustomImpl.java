@@ -0,0 +1,43 @@
+package com.example.subscriptionservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+class SubscriptionPriceBucketRepositoryCustomImpl implements SubscriptionPriceBucketRepositoryCustom {
+
+    private static final String UPSERT_SQL = "INSERT INTO subscription_price_daily AS b "
+            + "(subscription_id, day, category, currency, open_price, close_price, low_price, high_price, change_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?, LEAST(?, ?), GREATEST(?, ?), 1) "
+            + "ON CONFLICT (subscription_id, day) DO UPDATE SET "
+            + "category = EXCLUDED.category, "
+            + "open_price = CASE WHEN b.currency = EXCLUDED.currency THEN b.open_price ELSE EXCLUDED.open_price END, "
+            + "low_price = CASE WHEN b.currency = EXCLUDED.currency "
+            + "THEN LEAST(b.low_price, EXCLUDED.close_price) ELSE EXCLUDED.low_price END, "
+            + "high_price = CASE WHEN b.currency = EXCLUDED.currency "
+            + "THEN GREATEST(b.high_price, EXCLUDED.close_price) ELSE EXCLUDED.high_price END, "
+            + "close_price = EXCLUDED.close_price, "
+            + "currency = EXCLUDED.currency, "
+            + "change_count = b.change_count + 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void recordChanges(List<BucketChange> changes) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (statement, change) -> {
+            statement.setLong(1, change.subscriptionId());
+            statement.setDate(2, Date.valueOf(change.day()));
+            statement.setString(3, change.category());
+            statement.setString(4, change.currency());
+            statement.setBigDecimal(5, change.openPrice());
+            statement.setBigDecimal(6, change.price());
+            statement.setBigDecimal(7, change.openPrice());
+            statement.setBigDecimal(8, change.price());
+            statement.setBigDecimal(9, change.openPrice());
+            statement.setBigDecimal(10, change.price());
+        });
+    }
+}
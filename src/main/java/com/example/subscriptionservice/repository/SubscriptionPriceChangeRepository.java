@@ -0,0 +1,9 @@
+package com.example.subscriptionservice.repository;
+
+import com.example.subscriptionservice.entity.SubscriptionPriceChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SubscriptionPriceChangeRepository extends JpaRepository<SubscriptionPriceChange, Long> {
+}
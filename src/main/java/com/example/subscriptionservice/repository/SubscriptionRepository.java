@@ -1,12 +1,19 @@
 package com.example.subscriptionservice.repository;
 
+import com.example.subscriptionservice.catalog.CatalogFingerprint;
+import com.example.subscriptionservice.dto.CategoryCount;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
 import com.example.subscriptionservice.entity.Subscription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,39 +21,89 @@ import java.util.Optional;
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
-    // Existing methods for users
-    List<Subscription> findByIsActive(Boolean isActive);
-    List<Subscription> findByCategory(String category);
-    List<Subscription> findByCategoryAndIsActive(String category, Boolean isActive);
-    Optional<Subscription> findByNameAndIsActive(String name, Boolean isActive);
+    // Query cache region for the category and statistics lookups; invalidated whenever the subscriptions table changes
+    String QUERY_CACHE_REGION = "subscription-queries";
+
+    // Constructor expression used by the read-only projections below: selects straight into the DTO,
+    // so no managed entities, dirty-checking snapshots or audit columns are loaded.
+    String RESPONSE_PROJECTION = "new com.example.subscriptionservice.dto.SubscriptionResponse("
+            + "s.id, s.name, s.description, s.price, s.currency, s.category, s.billingPeriod, "
+            + "s.websiteUrl, s.logoUrl, s.isActive)";
+
     boolean existsByName(String name);
 
+    // Query-cached: the categories endpoint and the statistics counts repeat these between table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT DISTINCT s.category FROM Subscription s WHERE s.isActive = true")
     List<String> findAllActiveCategories();
 
-    @Query("SELECT s FROM Subscription s WHERE s.name LIKE %:name% AND s.isActive = true")
-    List<Subscription> findByNameContainingIgnoreCaseAndIsActive(@Param("name") String name);
-
-    @Query("SELECT s FROM Subscription s WHERE s.category = :category AND s.isActive = true ORDER BY s.price ASC")
-    List<Subscription> findByCategoryOrderByPriceAsc(@Param("category") String category);
-
-    // Admin methods - can see all including inactive
-    Page<Subscription> findAll(Pageable pageable);
-
-    Page<Subscription> findByIsActive(Boolean isActive, Pageable pageable);
-
-    @Query("SELECT s FROM Subscription s WHERE s.name LIKE %:searchTerm% OR s.description LIKE %:searchTerm% OR s.category LIKE %:searchTerm%")
-    Page<Subscription> searchSubscriptions(@Param("searchTerm") String searchTerm, Pageable pageable);
-
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT COUNT(s) FROM Subscription s WHERE s.isActive = true")
     Long countActiveSubscriptions();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT COUNT(s) FROM Subscription s WHERE s.isActive = false")
     Long countInactiveSubscriptions();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT COUNT(DISTINCT s.category) FROM Subscription s WHERE s.isActive = true")
     Long countActiveCategories();
 
-    @Query("SELECT s.category, COUNT(s) FROM Subscription s WHERE s.isActive = true GROUP BY s.category")
-    List<Object[]> getSubscriptionCountByCategory();
-}
\ No newline at end of file
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT new com.example.subscriptionservice.dto.CategoryCount(s.category, COUNT(s)) "
+            + "FROM Subscription s WHERE s.isActive = true GROUP BY s.category")
+    List<CategoryCount> getSubscriptionCountByCategory();
+
+    // Read-only projections for the read endpoints and the catalog snapshot.
+    // Not query-cached: the catalog only loads this after a table change has invalidated the cache, so a
+    // cached copy would never be hit and would only keep a second copy of the catalog on the heap.
+    @Transactional(readOnly = true)
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Subscription s WHERE s.isActive = true ORDER BY s.id")
+    List<SubscriptionResponse> findActiveResponses();
+
+    // Not query-cached: decides whether the on-disk catalog snapshot is still current
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.subscriptionservice.catalog.CatalogFingerprint(COUNT(s), "
+            + "COALESCE(SUM(s.changeVersion), 0L)) FROM Subscription s")
+    CatalogFingerprint findCatalogFingerprint();
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Subscription s WHERE s.id = :id")
+    Optional<SubscriptionResponse> findResponseById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Subscription s WHERE s.name LIKE %:name% AND s.isActive = true")
+    List<SubscriptionResponse> findActiveResponsesByNameContaining(@Param("name") String name);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT " + RESPONSE_PROJECTION + " FROM Subscription s",
+            countQuery = "SELECT COUNT(s) FROM Subscription s")
+    Page<SubscriptionResponse> findAllResponses(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT " + RESPONSE_PROJECTION + " FROM Subscription s WHERE s.isActive = :isActive",
+            countQuery = "SELECT COUNT(s) FROM Subscription s WHERE s.isActive = :isActive")
+    Page<SubscriptionResponse> findResponsesByIsActive(@Param("isActive") Boolean isActive, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT " + RESPONSE_PROJECTION + " FROM Subscription s "
+            + "WHERE s.name LIKE %:searchTerm% OR s.description LIKE %:searchTerm% OR s.category LIKE %:searchTerm%",
+            countQuery = "SELECT COUNT(s) FROM Subscription s "
+                    + "WHERE s.name LIKE %:searchTerm% OR s.description LIKE %:searchTerm% OR s.category LIKE %:searchTerm%")
+    Page<SubscriptionResponse> searchResponses(@Param("searchTerm") String searchTerm, Pageable pageable);
+}
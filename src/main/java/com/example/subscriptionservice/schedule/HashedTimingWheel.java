@@ -0,0 +1,107 @@
+package com.example.subscriptionservice.schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel over job ids: {@code slots} buckets of {@code tickMillis} each, a job hashed into the
+ * bucket of its deadline tick. Scheduling and cancelling are O(1); {@link #advance} only visits the buckets of
+ * the ticks that passed, and within a bucket skips jobs whose deadline is one or more rotations away.
+ * Re-scheduling a known id moves it, so periodic reloads from the database never create duplicates.
+ */
+final class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final List<List<Entry>> slots;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // Last tick whose bucket has been drained
+    private long lastTick;
+
+    HashedTimingWheel(long tickMillis, int slots, long startMillis) {
+        if (tickMillis <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("tickMillis and slots must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            this.slots.add(new ArrayList<>());
+        }
+        this.lastTick = startMillis / tickMillis - 1;
+    }
+
+    synchronized void schedule(long id, long deadlineMillis) {
+        Entry existing = entries.get(id);
+        if (existing != null) {
+            if (existing.deadline == deadlineMillis) {
+                return;
+            }
+            existing.cancelled = true;
+        }
+
+        // A deadline in a tick already drained goes into the next bucket advance will visit
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick + 1);
+        Entry entry = new Entry(id, deadlineMillis);
+        entries.put(id, entry);
+        slots.get(slotOf(tick)).add(entry);
+    }
+
+    synchronized void cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    /**
+     * Drains the buckets of every tick that has fully elapsed by {@code nowMillis} and returns the ids whose
+     * deadline has passed, in no particular order. A job therefore fires at most one tick late, never early.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long currentTick = (nowMillis + 1) / tickMillis - 1;
+        if (currentTick <= lastTick) {
+            return List.of();
+        }
+
+        List<Long> due = new ArrayList<>();
+        // After a long pause every bucket is visited once rather than once per missed tick
+        long ticks = Math.min(currentTick - lastTick, slots.size());
+        for (long i = 0; i < ticks; i++) {
+            Iterator<Entry> bucket = slots.get(slotOf(currentTick - i)).iterator();
+            while (bucket.hasNext()) {
+                Entry entry = bucket.next();
+                if (entry.cancelled) {
+                    bucket.remove();
+                } else if (entry.deadline <= nowMillis) {
+                    bucket.remove();
+                    entries.remove(entry.id);
+                    due.add(entry.id);
+                }
+            }
+        }
+        lastTick = currentTick;
+        return due;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+
+    private static final class Entry {
+        final long id;
+        final long deadline;
+        boolean cancelled;
+
+        Entry(long id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+}
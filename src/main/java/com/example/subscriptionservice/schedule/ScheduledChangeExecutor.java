@@ -0,0 +1,106 @@
+package com.example.subscriptionservice.schedule;
+
+import com.example.subscriptionservice.entity.ScheduledChange;
+import com.example.subscriptionservice.repository.ScheduledChangeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Runs scheduled changes when they fall due. Pending changes due within {@code scheduled-changes.horizon-ms}
+ * are kept in a {@link HashedTimingWheel}; each tick that yields due ids runs one
+ * {@link ScheduledChangeService#applyDue} batch covering everything due by then. The table is the source of
+ * truth: the wheel is refilled from it on startup and every {@code reload-interval-ms}, which also picks up
+ * changes scheduled through other instances. Several instances may hold the same id in their wheels; the
+ * SKIP LOCKED claim makes sure only one of them executes it. Only that instance publishes the applied event;
+ * the others pick the change up through {@code SubscriptionCatalog}'s fingerprint check within
+ * {@code catalog.sync-interval-ms}.
+ */
+@Component
+public class ScheduledChangeExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledChangeExecutor.class);
+
+    @Autowired
+    private ScheduledChangeService scheduledChangeService;
+
+    @Autowired
+    private ScheduledChangeRepository scheduledChangeRepository;
+
+    @Value("${scheduled-changes.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${scheduled-changes.wheel-slots:512}")
+    private int wheelSlots;
+
+    @Value("${scheduled-changes.horizon-ms:600000}")
+    private long horizonMillis;
+
+    @Value("${scheduled-changes.batch-size:100}")
+    private int batchSize;
+
+    private HashedTimingWheel wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new HashedTimingWheel(tickMillis, wheelSlots, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${scheduled-changes.reload-interval-ms:60000}",
+            initialDelayString = "${scheduled-changes.reload-interval-ms:60000}")
+    public void reload() {
+        LocalDateTime horizon = LocalDateTime.now().plus(Duration.ofMillis(horizonMillis));
+        try {
+            List<ScheduledChange> pending = scheduledChangeRepository.findPendingDueBefore(horizon);
+            pending.forEach(this::track);
+            logger.debug("Tracking {} scheduled changes due before {}", wheel.size(), horizon);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load pending scheduled changes: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduled-changes.tick-ms:1000}")
+    public void tick() {
+        if (wheel.advance(System.currentTimeMillis()).isEmpty()) {
+            return;
+        }
+
+        try {
+            // A full batch may mean more is due; keep going until a batch comes back short
+            while (scheduledChangeService.applyDue(LocalDateTime.now(), batchSize) == batchSize) {
+                logger.debug("Scheduled change batch was full, claiming the next one");
+            }
+        } catch (RuntimeException e) {
+            // The batch rolled back and its rows are still PENDING; the next reload puts them back on the wheel
+            logger.error("Failed to apply scheduled changes: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChangeScheduled(ScheduledChange change) {
+        if (change.getDueAt().isBefore(LocalDateTime.now().plus(Duration.ofMillis(horizonMillis)))) {
+            track(change);
+        }
+    }
+
+    private void track(ScheduledChange change) {
+        wheel.schedule(change.getId(), change.getDueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.subscriptionservice.schedule;
+
+import com.example.subscriptionservice.audit.AuditAction;
+import com.example.subscriptionservice.audit.AuditLog;
+import com.example.subscriptionservice.dto.ScheduledChangeRequest;
+import com.example.subscriptionservice.dto.ScheduledChangeResponse;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.entity.ScheduledChange;
+import com.example.subscriptionservice.entity.Subscription;
+import com.example.subscriptionservice.event.ScheduledChangesAppliedEvent;
+import com.example.subscriptionservice.exception.InvalidScheduledChangeException;
+import com.example.subscriptionservice.exception.ScheduledChangeNotFoundException;
+import com.example.subscriptionservice.exception.SubscriptionNotFoundException;
+import com.example.subscriptionservice.repository.ScheduledChangeRepository;
+import com.example.subscriptionservice.repository.SubscriptionRepository;
+import com.example.subscriptionservice.service.PriceHistoryService;
+import com.example.subscriptionservice.util.SubscriptionMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ScheduledChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledChangeService.class);
+
+    @Autowired
+    private ScheduledChangeRepository scheduledChangeRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ScheduledChangeResponse scheduleChange(Long subscriptionId, ScheduledChangeRequest request) {
+        logger.info("Admin scheduling {} for subscription {} at {}", request.getType(), subscriptionId,
+                request.getDueAt());
+
+        if (!subscriptionRepository.existsById(subscriptionId)) {
+            throw new SubscriptionNotFoundException(subscriptionId);
+        }
+
+        boolean priceChange = request.getType() == ScheduledChange.Type.PRICE;
+        if (priceChange && request.getNewPrice() == null) {
+            throw new InvalidScheduledChangeException("A scheduled price change needs a new price");
+        }
+        if (!priceChange && (request.getNewPrice() != null || request.getNewCurrency() != null)) {
+            throw new InvalidScheduledChangeException("Only price changes may carry a price or currency");
+        }
+
+        ScheduledChange change = new ScheduledChange();
+        change.setSubscriptionId(subscriptionId);
+        change.setType(request.getType());
+        change.setNewPrice(request.getNewPrice());
+        change.setNewCurrency(request.getNewCurrency());
+        change.setDueAt(request.getDueAt());
+
+        ScheduledChange saved = scheduledChangeRepository.save(change);
+        logger.info("Scheduled change {} saved", saved.getId());
+        auditLog.record(AuditAction.CHANGE_SCHEDULED, subscriptionId, Map.of(), describe(saved));
+        // Picked up by ScheduledChangeExecutor once the row is committed
+        eventPublisher.publishEvent(saved);
+
+        return ScheduledChangeResponse.from(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledChangeResponse> getScheduledChanges(Long subscriptionId) {
+        logger.info("Admin getting scheduled changes for subscription {}", subscriptionId);
+
+        return scheduledChangeRepository.findBySubscriptionIdOrderByDueAtDesc(subscriptionId).stream()
+                .map(ScheduledChangeResponse::from)
+                .toList();
+    }
+
+    @Transactional
+    public void cancelChange(Long changeId) {
+        logger.info("Admin cancelling scheduled change {}", changeId);
+
+        if (scheduledChangeRepository.cancelPending(changeId) == 0) {
+            throw new ScheduledChangeNotFoundException();
+        }
+        scheduledChangeRepository.findById(changeId).ifPresent(change -> auditLog.record(
+                AuditAction.SCHEDULED_CHANGE_CANCELLED, change.getSubscriptionId(), describe(change), Map.of()));
+    }
+
+    /**
+     * Claims up to {@code limit} changes due at {@code now} and applies them in this one transaction, then
+     * publishes a single {@link ScheduledChangesAppliedEvent} so caches are rebuilt once for the whole batch.
+     * Rows locked by another instance are skipped. A change whose subscription no longer exists is marked
+     * FAILED rather than failing the batch. Returns the number of changes claimed.
+     */
+    @Transactional
+    public int applyDue(LocalDateTime now, int limit) {
+        List<ScheduledChange> claimed = scheduledChangeRepository.claimDue(now, limit);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Subscription> subscriptions = subscriptionRepository.findAllById(
+                        claimed.stream().map(ScheduledChange::getSubscriptionId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Subscription::getId, Function.identity()));
+
+        List<Long> changed = new ArrayList<>();
+        for (ScheduledChange change : claimed) {
+            Subscription subscription = subscriptions.get(change.getSubscriptionId());
+            change.setExecutedAt(now);
+            if (subscription == null) {
+                change.setStatus(ScheduledChange.Status.FAILED);
+                change.setFailureReason("Subscription not found");
+                continue;
+            }
+
+            SubscriptionResponse before = SubscriptionMapper.toResponse(subscription);
+            apply(change, subscription);
+            auditLog.record(AuditLog.SYSTEM_ACTOR, AuditAction.SCHEDULED_CHANGE_APPLIED, subscription.getId(),
+                    before, SubscriptionMapper.toResponse(subscription));
+            change.setStatus(ScheduledChange.Status.DONE);
+            changed.add(subscription.getId());
+        }
+
+        subscriptionRepository.saveAll(subscriptions.values());
+        scheduledChangeRepository.saveAll(claimed);
+        logger.info("Applied {} of {} scheduled changes due by {}", changed.size(), claimed.size(), now);
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new ScheduledChangesAppliedEvent(changed));
+        }
+        return claimed.size();
+    }
+
+    private static Map<String, Object> describe(ScheduledChange change) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("scheduledChangeId", change.getId());
+        fields.put("type", change.getType());
+        fields.put("dueAt", change.getDueAt());
+        fields.put("newPrice", change.getNewPrice());
+        fields.put("newCurrency", change.getNewCurrency());
+        return fields;
+    }
+
+    private void apply(ScheduledChange change, Subscription subscription) {
+        switch (change.getType()) {
+            case PRICE -> {
+                BigDecimal oldPrice = subscription.getPrice();
+                String oldCurrency = subscription.getCurrency();
+                subscription.setPrice(change.getNewPrice());
+                if (change.getNewCurrency() != null) {
+                    subscription.setCurrency(change.getNewCurrency());
+                }
+                if (oldPrice.compareTo(subscription.getPrice()) != 0
+                        || !oldCurrency.equals(subscription.getCurrency())) {
+                    priceHistoryService.recordPrice(subscription, oldPrice, oldCurrency);
+                }
+            }
+            case ACTIVATE -> subscription.setIsActive(true);
+            case DEACTIVATE -> subscription.setIsActive(false);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.subscriptionservice.service;
+
+import com.example.subscriptionservice.dto.AuditEntryResponse;
+import com.example.subscriptionservice.repository.AuditEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    @Autowired
+    private AuditEntryRepository auditEntryRepository;
+
+    @Value("${audit.max-page-size:200}")
+    private int maxPageSize;
+
+    // Clamps a requested page size to 1..audit.max-page-size
+    public int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    /**
+     * Returns up to {@code size} entries older than {@code before} (newest first), optionally filtered by
+     * actor and subscription. Pass the previous page's last id as {@code before}, or {@code null} to start.
+     */
+    @Transactional(readOnly = true)
+    public List<AuditEntryResponse> getEntries(Long before, String actor, Long subscriptionId, int size) {
+        logger.info("Admin getting audit entries before {} (actor: {}, subscription: {})", before, actor,
+                subscriptionId);
+
+        return auditEntryRepository.findPage(before != null ? before : Long.MAX_VALUE, actor, subscriptionId,
+                        PageRequest.of(0, size))
+                .stream()
+                .map(AuditEntryResponse::from)
+                .toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.subscriptionservice.service;
+
+import com.example.subscriptionservice.repository.SubscriptionPriceBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Daily housekeeping for the price history: creates the monthly partitions of
+ * {@code subscription_price_history} ahead of time, so inserts never land in the default partition, and opens
+ * today's bucket for every active subscription, so a day without changes still has a data point. Both steps
+ * are idempotent, so every instance runs them.
+ */
+@Component
+public class PriceHistoryMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryMaintenance.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SubscriptionPriceBucketRepository bucketRepository;
+
+    @Value("${price-history.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        runDaily();
+    }
+
+    @Scheduled(cron = "${price-history.maintenance-cron:5 0 0 * * *}")
+    public void runDaily() {
+        LocalDate today = LocalDate.now();
+        createPartitions(today.withDayOfMonth(1));
+
+        try {
+            int opened = bucketRepository.openDay(today);
+            logger.info("Opened {} price buckets for {}", opened, today);
+        } catch (DataAccessException e) {
+            logger.error("Failed to open price buckets for {}: {}", today, e.getMessage());
+        }
+    }
+
+    private void createPartitions(LocalDate firstMonth) {
+        for (int i = 0; i <= partitionsAhead; i++) {
+            LocalDate month = firstMonth.plusMonths(i);
+            String partition = "subscription_price_history_" + month.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                        + " PARTITION OF subscription_price_history"
+                        + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+            } catch (DataAccessException e) {
+                // Another instance may have created it concurrently; the next run retries anything really missing
+                logger.warn("Could not create price history partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+}
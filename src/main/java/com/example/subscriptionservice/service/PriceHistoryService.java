@@ -0,0 +1,138 @@
+package com.example.subscriptionservice.service;
+
+import com.example.subscriptionservice.dto.PriceBucketResponse;
+import com.example.subscriptionservice.dto.PriceTrendPoint;
+import com.example.subscriptionservice.entity.Subscription;
+import com.example.subscriptionservice.entity.SubscriptionPriceChange;
+import com.example.subscriptionservice.exception.InvalidDateRangeException;
+import com.example.subscriptionservice.exception.SubscriptionNotFoundException;
+import com.example.subscriptionservice.repository.SubscriptionPriceBucketRepository;
+import com.example.subscriptionservice.repository.SubscriptionPriceBucketRepositoryCustom.BucketChange;
+import com.example.subscriptionservice.repository.SubscriptionPriceChangeRepository;
+import com.example.subscriptionservice.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the append-only price log and the daily price buckets built from it. Reads never touch the log:
+ * both the per-subscription history and the category trend are served from the buckets.
+ */
+@Service
+public class PriceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryService.class);
+
+    @Autowired
+    private SubscriptionPriceChangeRepository changeRepository;
+
+    @Autowired
+    private SubscriptionPriceBucketRepository bucketRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Value("${price-history.default-range-days:30}")
+    private int defaultRangeDays;
+
+    @Value("${price-history.max-range-days:366}")
+    private int maxRangeDays;
+
+    /**
+     * Logs the subscription's current price and folds it into today's bucket. Runs inside the transaction that
+     * changed the price, so the log commits or rolls back together with the subscription row. Pass
+     * {@code null} for the previous price of a new subscription.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPrice(Subscription subscription, BigDecimal previousPrice, String previousCurrency) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Persisted through the pooled sequence, so changes flushed together go out as one JDBC batch
+        changeRepository.save(new SubscriptionPriceChange(subscription.getId(), subscription.getCategory(),
+                subscription.getPrice(), subscription.getCurrency(), now));
+
+        boolean sameCurrency = previousPrice != null && subscription.getCurrency().equals(previousCurrency);
+        pendingBucketChanges().add(new BucketChange(subscription.getId(), now.toLocalDate(),
+                subscription.getCategory(), subscription.getCurrency(),
+                sameCurrency ? previousPrice : subscription.getPrice(), subscription.getPrice()));
+
+        logger.debug("Recorded price {} {} for subscription {}",
+                subscription.getPrice(), subscription.getCurrency(), subscription.getId());
+    }
+
+    // Bucket upserts of the current transaction; kept on its synchronization, so a suspended outer
+    // transaction keeps its own list
+    private List<BucketChange> pendingBucketChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof BucketWrite write) {
+                return write.changes;
+            }
+        }
+        BucketWrite write = new BucketWrite();
+        TransactionSynchronizationManager.registerSynchronization(write);
+        return write.changes;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceBucketResponse> getPriceHistory(Long subscriptionId, LocalDate from, LocalDate to) {
+        logger.info("Getting price history for subscription {} from {} to {}", subscriptionId, from, to);
+
+        if (!subscriptionRepository.existsById(subscriptionId)) {
+            throw new SubscriptionNotFoundException(subscriptionId);
+        }
+
+        return bucketRepository.findDays(subscriptionId, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceTrendPoint> getCategoryPriceTrend(String category, LocalDate from, LocalDate to) {
+        logger.info("Getting price trend for category {} from {} to {}", category, from, to);
+
+        return bucketRepository.findCategoryTrend(category, from, to);
+    }
+
+    /**
+     * Fills in a missing end (today) and start ({@code price-history.default-range-days} before the end) and
+     * rejects ranges that are reversed or longer than {@code price-history.max-range-days}.
+     */
+    public LocalDate[] resolveRange(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultRangeDays);
+
+        if (start.isAfter(end)) {
+            throw new InvalidDateRangeException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxRangeDays) {
+            throw new InvalidDateRangeException("Date range must not exceed " + maxRangeDays + " days");
+        }
+
+        return new LocalDate[]{start, end};
+    }
+
+    /**
+     * Writes the transaction's bucket upserts as one JDBC batch just before it commits, instead of one
+     * statement per price change.
+     */
+    private final class BucketWrite implements TransactionSynchronization {
+
+        private final List<BucketChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            bucketRepository.recordChanges(changes);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.subscriptionservice.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived result cache with single-flight loading: concurrent misses for the same key wait for one
+ * loader call and share its result (or its exception) instead of each running the load themselves.
+ * {@link #invalidateAll()} bumps a generation number so a load that was already running when the data
+ * changed still answers its waiters but is not cached.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<K, Entry<V>> results = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public SingleFlightCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> cached = results.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() >= System.currentTimeMillis()) {
+                return cached.value();
+            }
+            results.remove(key, cached);
+        }
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return await(leader);
+        }
+
+        long loadGeneration = generation.get();
+        try {
+            V value = loader.get();
+            if (loadGeneration == generation.get()) {
+                put(key, value);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        // Callers arriving from now on must not join a load that may have read the old data
+        inFlight.clear();
+        results.clear();
+    }
+
+    private void put(K key, V value) {
+        if (results.size() >= maxSize) {
+            // Flooded with distinct terms: start over rather than track per-entry recency
+            results.clear();
+        }
+        results.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
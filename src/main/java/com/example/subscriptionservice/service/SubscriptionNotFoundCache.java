@@ -0,0 +1,59 @@
+package com.example.subscriptionservice.service;
+
+import com.example.subscriptionservice.event.CatalogRefreshedEvent;
+import com.example.subscriptionservice.event.SubscriptionChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers ids that recently had no subscription row so repeated lookups of bad ids skip the database.
+ * Entries expire after a short TTL, and an id is forgotten as soon as a subscription with that id is created.
+ */
+@Component
+public class SubscriptionNotFoundCache {
+
+    @Value("${subscription.not-found-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${subscription.not-found-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<Long, Long> expiries = new ConcurrentHashMap<>();
+
+    public boolean isKnownMissing(Long id) {
+        Long expiresAt = expiries.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            expiries.remove(id, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void markMissing(Long id) {
+        if (expiries.size() >= maxSize) {
+            // Flooded with distinct bad ids: start over rather than track per-entry recency
+            expiries.clear();
+        }
+        expiries.put(id, System.currentTimeMillis() + ttlMillis);
+    }
+
+    @EventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        if (event.getType() == SubscriptionChangedEvent.Type.CREATED) {
+            expiries.remove(event.getSubscriptionId());
+        }
+    }
+
+    // Covers subscriptions created on another instance
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        event.getSubscriptionIds().forEach(expiries::remove);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.subscriptionservice.service;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.event.CatalogRefreshedEvent;
+import com.example.subscriptionservice.event.ScheduledChangesAppliedEvent;
+import com.example.subscriptionservice.event.SubscriptionChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent searches onto one repository query and keeps the results of hot terms
+ * for a few seconds. Both caches are dropped once a subscription change has committed, here or on another
+ * instance.
+ */
+@Component
+public class SubscriptionSearchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionSearchCache.class);
+
+    @Value("${subscription.search-cache.ttl-ms:2000}")
+    private long ttlMillis;
+
+    @Value("${subscription.search-cache.max-size:1000}")
+    private int maxSize;
+
+    private SingleFlightCache<String, List<SubscriptionResponse>> activeByName;
+    private SingleFlightCache<AdminSearchKey, Page<SubscriptionResponse>> adminSearches;
+
+    @PostConstruct
+    void init() {
+        activeByName = new SingleFlightCache<>(ttlMillis, maxSize);
+        adminSearches = new SingleFlightCache<>(ttlMillis, maxSize);
+    }
+
+    public List<SubscriptionResponse> searchActive(String name, Supplier<List<SubscriptionResponse>> loader) {
+        return activeByName.get(name, loader);
+    }
+
+    public Page<SubscriptionResponse> searchAll(String searchTerm, Pageable pageable,
+                                                Supplier<Page<SubscriptionResponse>> loader) {
+        return adminSearches.get(new AdminSearchKey(searchTerm, pageable), loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        logger.debug("Dropping cached search results after {}", event);
+        activeByName.invalidateAll();
+        adminSearches.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduledChangesApplied(ScheduledChangesAppliedEvent event) {
+        logger.debug("Dropping cached search results after {}", event);
+        activeByName.invalidateAll();
+        adminSearches.invalidateAll();
+    }
+
+    // Local changes already dropped the caches above; this covers changes committed by other instances
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        logger.debug("Dropping cached search results after {}", event);
+        activeByName.invalidateAll();
+        adminSearches.invalidateAll();
+    }
+
+    // PageRequest implements equals/hashCode over page, size and sort
+    private record AdminSearchKey(String searchTerm, Pageable pageable) {
+    }
+}
@@ -1,22 +1,47 @@
 package com.example.subscriptionservice.service;
 
+import com.example.subscriptionservice.analytics.SearchAnalytics;
+import com.example.subscriptionservice.audit.AuditAction;
+import com.example.subscriptionservice.audit.AuditLog;
+import com.example.subscriptionservice.catalog.CatalogEncoder;
+import com.example.subscriptionservice.catalog.CatalogSnapshot;
+import com.example.subscriptionservice.catalog.SubscriptionCatalog;
+import com.example.subscriptionservice.dto.CategoryCount;
+import com.example.subscriptionservice.dto.CostItem;
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.FacetResult;
+import com.example.subscriptionservice.dto.PortfolioCost;
+import com.example.subscriptionservice.dto.SimilarSubscription;
 import com.example.subscriptionservice.dto.SubscriptionRequest;
 import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.dto.SubscriptionStatistics;
+import com.example.subscriptionservice.dto.TrendingSubscription;
 import com.example.subscriptionservice.entity.Subscription;
+import com.example.subscriptionservice.event.SubscriptionChangedEvent;
+import com.example.subscriptionservice.exception.DuplicateSubscriptionException;
+import com.example.subscriptionservice.exception.StatisticsUnavailableException;
+import com.example.subscriptionservice.exception.SubscriptionNotFoundException;
+import com.example.subscriptionservice.popularity.PopularityTracker;
 import com.example.subscriptionservice.repository.SubscriptionRepository;
+import com.example.subscriptionservice.similarity.SimilarityIndex;
+import com.example.subscriptionservice.util.SubscriptionMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class SubscriptionService {
@@ -29,49 +54,141 @@ public class SubscriptionService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private SubscriptionCatalog subscriptionCatalog;
+
+    @Autowired
+    private CatalogEncoder catalogEncoder;
+
+    @Autowired
+    private SubscriptionNotFoundCache notFoundCache;
+
+    @Autowired
+    private SubscriptionSearchCache searchCache;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private PopularityTracker popularityTracker;
+
+    @Autowired
+    private SearchAnalytics searchAnalytics;
+
+    @Autowired
+    private SimilarityIndex similarityIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Value("${admin.email:admin@company.com}")
     private String adminEmail;
 
     // User/Public methods (existing functionality)
-    public List<SubscriptionResponse> getAllSubscriptions() {
+    // Methods served from the catalog snapshot are not transactional: they hold no connection, and a snapshot
+    // load on first access runs in the repository's own read-only transaction.
+    public List<SubscriptionResponse> getAllSubscriptions(String displayCurrency) {
         logger.info("Getting all active subscriptions");
 
-        List<Subscription> subscriptions = subscriptionRepository.findByIsActive(true);
-        List<SubscriptionResponse> response = subscriptions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<SubscriptionResponse> response = subscriptionCatalog.current().getSubscriptions(displayCurrency);
 
         logger.info("Retrieved {} subscriptions", response.size());
 
         return response;
     }
 
-    public SubscriptionResponse getSubscriptionById(Long id) {
-        logger.info("Getting active subscription by ID: {}", id);
+    public byte[] getAllSubscriptionsAsCbor(String displayCurrency) {
+        logger.info("Getting all active subscriptions as CBOR");
 
-        Subscription subscription = subscriptionRepository.findById(id)
-                .filter(s -> s.getIsActive())
-                .orElseThrow(() -> {
-                    logger.warn("Active subscription not found: {}", id);
-                    return new RuntimeException("Subscription not found");
-                });
+        return catalogEncoder.encodeAvailable(subscriptionCatalog.current(), displayCurrency);
+    }
 
-        SubscriptionResponse response = mapToResponse(subscription);
+    public SubscriptionResponse getSubscriptionById(Long id, String displayCurrency) {
+        logger.info("Getting active subscription by ID: {}", id);
+
+        SubscriptionResponse response = subscriptionCatalog.current().findById(id, displayCurrency);
+        if (response == null) {
+            logger.debug("Active subscription not found: {}", id);
+            throw new SubscriptionNotFoundException(id);
+        }
+        popularityTracker.recordView(id);
 
         return response;
     }
 
-    public List<SubscriptionResponse> getSubscriptionsByCategory(String category) {
+    // Served from the in-memory trending heap and the catalog snapshot; no query runs
+    public List<TrendingSubscription> getTrendingSubscriptions(int limit, String displayCurrency) {
+        logger.info("Getting top {} trending subscriptions", limit);
+
+        CatalogSnapshot snapshot = subscriptionCatalog.current();
+        List<TrendingSubscription> trending = new ArrayList<>(limit);
+        for (Map.Entry<Long, Double> entry : popularityTracker.trending().entrySet()) {
+            if (trending.size() == limit) {
+                break;
+            }
+            SubscriptionResponse subscription = snapshot.findById(entry.getKey(), displayCurrency);
+            if (subscription != null) {
+                trending.add(new TrendingSubscription(trending.size() + 1, entry.getValue(), subscription));
+            }
+        }
+
+        return trending;
+    }
+
+    // Served from the precomputed neighbor lists and the catalog snapshot; no query runs
+    public List<SimilarSubscription> getSimilarSubscriptions(Long id, int limit, String displayCurrency) {
+        logger.info("Getting subscriptions similar to ID: {}", id);
+
+        CatalogSnapshot snapshot = subscriptionCatalog.current();
+        if (snapshot.findById(id) == null) {
+            throw new SubscriptionNotFoundException(id);
+        }
+
+        List<SimilarSubscription> similar = new ArrayList<>(limit);
+        for (SimilarityIndex.Neighbor neighbor : similarityIndex.neighbors(id)) {
+            if (similar.size() == limit) {
+                break;
+            }
+            SubscriptionResponse subscription = snapshot.findById(neighbor.id(), displayCurrency);
+            if (subscription != null) {
+                similar.add(new SimilarSubscription(neighbor.score(), subscription));
+            }
+        }
+
+        return similar;
+    }
+
+    // Priced from the catalog snapshot in one pass; no query runs
+    public PortfolioCost calculateCost(List<CostItem> items, String displayCurrency) {
+        logger.info("Calculating cost of {} portfolio items", items.size());
+
+        // Repeated ids add up, and the response lists each id at most once
+        Map<Long, Long> quantities = new LinkedHashMap<>();
+        for (CostItem item : items) {
+            quantities.merge(item.getSubscriptionId(), (long) item.getQuantity(), Long::sum);
+        }
+
+        return subscriptionCatalog.current().cost(quantities, displayCurrency);
+    }
+
+    public List<SubscriptionResponse> getSubscriptionsByCategory(String category, String displayCurrency) {
         logger.info("Getting active subscriptions by category: {}", category);
 
-        List<Subscription> subscriptions = subscriptionRepository.findByCategoryAndIsActive(category, true);
-        List<SubscriptionResponse> response = subscriptions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<SubscriptionResponse> response = subscriptionCatalog.current().findByCategory(category, displayCurrency);
 
         return response;
     }
 
+    public byte[] getSubscriptionsByCategoryAsCbor(String category, String displayCurrency) {
+        logger.info("Getting active subscriptions by category as CBOR: {}", category);
+
+        return catalogEncoder.encodeCategory(subscriptionCatalog.current(), category, displayCurrency);
+    }
+
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         logger.info("Getting all active categories");
 
@@ -80,15 +197,28 @@ public class SubscriptionService {
         return categories;
     }
 
-    public List<SubscriptionResponse> searchSubscriptions(String name) {
+    // Not transactional: callers waiting on a coalesced search must not each hold a connection.
+    // The repository query runs in its own read-only transaction.
+    public List<SubscriptionResponse> searchSubscriptions(String name, String displayCurrency) {
         logger.info("Searching active subscriptions by name: {}", name);
 
-        List<Subscription> subscriptions = subscriptionRepository
-                .findByNameContainingIgnoreCaseAndIsActive(name);
+        String term = name.trim();
+        List<SubscriptionResponse> response = searchCache.searchActive(term,
+                () -> List.copyOf(subscriptionRepository.findActiveResponsesByNameContaining(term)));
+        popularityTracker.recordSearchHits(response);
+        searchAnalytics.record(term, !response.isEmpty());
+
+        return subscriptionCatalog.current().convert(response, displayCurrency);
+    }
+
+    public FacetResult filterSubscriptions(FacetQuery query) {
+        logger.info("Filtering active subscriptions: {}", query);
+
+        FacetResult result = subscriptionCatalog.current().filter(query);
+
+        logger.info("Filter matched {} subscriptions", result.getSubscriptions().size());
 
-        return subscriptions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return result;
     }
 
     // Admin methods
@@ -98,7 +228,7 @@ public class SubscriptionService {
 
         if (subscriptionRepository.existsByName(request.getName())) {
             logger.warn("Subscription already exists: {}", request.getName());
-            throw new RuntimeException("Subscription with this name already exists");
+            throw new DuplicateSubscriptionException();
         }
 
         Subscription subscription = new Subscription(
@@ -115,6 +245,10 @@ public class SubscriptionService {
 
         Subscription savedSubscription = subscriptionRepository.save(subscription);
         logger.info("Successfully created subscription with ID: {}", savedSubscription.getId());
+        priceHistoryService.recordPrice(savedSubscription, null, null);
+        auditLog.record(AuditAction.CREATED, savedSubscription.getId(), null, mapToResponse(savedSubscription));
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                savedSubscription.getId(), SubscriptionChangedEvent.Type.CREATED));
 
         // Send email notification to admin
         try {
@@ -128,45 +262,49 @@ public class SubscriptionService {
         return mapToResponse(savedSubscription);
     }
 
+    @Transactional(readOnly = true)
     public Page<SubscriptionResponse> getAllSubscriptionsForAdmin(Pageable pageable, Boolean isActive) {
         logger.info("Admin getting all subscriptions with pagination, isActive filter: {}", isActive);
 
-        Page<Subscription> subscriptions;
         if (isActive != null) {
-            subscriptions = subscriptionRepository.findByIsActive(isActive, pageable);
-        } else {
-            subscriptions = subscriptionRepository.findAll(pageable);
+            return subscriptionRepository.findResponsesByIsActive(isActive, pageable);
         }
 
-        return subscriptions.map(this::mapToResponse);
+        return subscriptionRepository.findAllResponses(pageable);
     }
 
+    @Transactional(readOnly = true)
     public SubscriptionResponse getSubscriptionByIdForAdmin(Long id) {
         logger.info("Admin getting subscription by ID: {}", id);
 
-        Subscription subscription = subscriptionRepository.findById(id)
+        if (notFoundCache.isKnownMissing(id)) {
+            throw new SubscriptionNotFoundException(id);
+        }
+
+        return subscriptionRepository.findResponseById(id)
                 .orElseThrow(() -> {
-                    logger.warn("Subscription not found for admin: {}", id);
-                    return new RuntimeException("Subscription not found");
+                    logger.debug("Subscription not found for admin: {}", id);
+                    notFoundCache.markMissing(id);
+                    return new SubscriptionNotFoundException(id);
                 });
-
-        return mapToResponse(subscription);
     }
 
     @Transactional
     public SubscriptionResponse updateSubscription(Long id, SubscriptionRequest request) {
         logger.info("Admin updating subscription: {}", id);
 
-        Subscription subscription = subscriptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Subscription not found"));
+        Subscription subscription = findSubscription(id);
 
         // Check if name is being changed and if new name already exists
         if (!subscription.getName().equals(request.getName()) &&
                 subscriptionRepository.existsByName(request.getName())) {
-            throw new RuntimeException("Subscription with this name already exists");
+            throw new DuplicateSubscriptionException();
         }
 
         String oldName = subscription.getName();
+        SubscriptionResponse before = mapToResponse(subscription);
+        BigDecimal oldPrice = subscription.getPrice();
+        String oldCurrency = subscription.getCurrency();
 
         subscription.setName(request.getName());
         subscription.setDescription(request.getDescription());
@@ -179,6 +317,12 @@ public class SubscriptionService {
 
         Subscription updatedSubscription = subscriptionRepository.save(subscription);
         logger.info("Successfully updated subscription: {}", id);
+        if (oldPrice.compareTo(updatedSubscription.getPrice()) != 0
+                || !oldCurrency.equals(updatedSubscription.getCurrency())) {
+            priceHistoryService.recordPrice(updatedSubscription, oldPrice, oldCurrency);
+        }
+        auditLog.record(AuditAction.UPDATED, id, before, mapToResponse(updatedSubscription));
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(id, SubscriptionChangedEvent.Type.UPDATED));
 
         // Send email notification to admin
         try {
@@ -195,15 +339,17 @@ public class SubscriptionService {
     public void deleteSubscription(Long id) {
         logger.info("Admin deleting subscription: {}", id);
 
-        Subscription subscription = subscriptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Subscription not found"));
+        Subscription subscription = findSubscription(id);
 
         String subscriptionName = subscription.getName();
+        SubscriptionResponse before = mapToResponse(subscription);
 
         subscription.setIsActive(false);
-        subscriptionRepository.save(subscription);
+        Subscription deactivatedSubscription = subscriptionRepository.save(subscription);
+        auditLog.record(AuditAction.DEACTIVATED, id, before, mapToResponse(deactivatedSubscription));
 
         logger.info("Successfully deleted subscription: {}", id);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(id, SubscriptionChangedEvent.Type.DEACTIVATED));
 
         // Send email notification to admin
         try {
@@ -218,13 +364,15 @@ public class SubscriptionService {
     public SubscriptionResponse activateSubscription(Long id) {
         logger.info("Admin activating subscription: {}", id);
 
-        Subscription subscription = subscriptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Subscription not found"));
+        Subscription subscription = findSubscription(id);
+        SubscriptionResponse before = mapToResponse(subscription);
 
         subscription.setIsActive(true);
         Subscription activatedSubscription = subscriptionRepository.save(subscription);
+        auditLog.record(AuditAction.ACTIVATED, id, before, mapToResponse(activatedSubscription));
 
         logger.info("Successfully activated subscription: {}", id);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(id, SubscriptionChangedEvent.Type.ACTIVATED));
 
         // Send email notification to admin
         try {
@@ -237,61 +385,63 @@ public class SubscriptionService {
         return mapToResponse(activatedSubscription);
     }
 
+    // Coalesced like searchSubscriptions, so also left to the repository's own read-only transaction
     public Page<SubscriptionResponse> searchSubscriptionsForAdmin(String searchTerm, Pageable pageable) {
         logger.info("Admin searching subscriptions with term: {}", searchTerm);
 
-        return subscriptionRepository.searchSubscriptions(searchTerm, pageable)
-                .map(this::mapToResponse);
+        String term = searchTerm.trim();
+        Page<SubscriptionResponse> page = searchCache.searchAll(term, pageable,
+                () -> subscriptionRepository.searchResponses(term, pageable));
+        searchAnalytics.record(term, page.getTotalElements() > 0);
+
+        return page;
     }
 
-    public Map<String, Object> getSubscriptionStatistics() {
+    @Transactional(readOnly = true)
+    public SubscriptionStatistics getSubscriptionStatistics() {
         logger.info("Admin getting subscription statistics");
 
-        Map<String, Object> statistics = new HashMap<>();
-
         try {
-            Long activeSubscriptions = subscriptionRepository.countActiveSubscriptions();
-            Long inactiveSubscriptions = subscriptionRepository.countInactiveSubscriptions();
-            Long activeCategories = subscriptionRepository.countActiveCategories();
-            List<Object[]> categoryStats = subscriptionRepository.getSubscriptionCountByCategory();
-
-            statistics.put("activeSubscriptions", activeSubscriptions != null ? activeSubscriptions : 0L);
-            statistics.put("inactiveSubscriptions", inactiveSubscriptions != null ? inactiveSubscriptions : 0L);
-            statistics.put("totalSubscriptions", (activeSubscriptions != null ? activeSubscriptions : 0L) +
-                    (inactiveSubscriptions != null ? inactiveSubscriptions : 0L));
-            statistics.put("activeCategories", activeCategories != null ? activeCategories : 0L);
-
-            // Convert category statistics
+            long activeSubscriptions = orZero(subscriptionRepository.countActiveSubscriptions());
+            long inactiveSubscriptions = orZero(subscriptionRepository.countInactiveSubscriptions());
+            long activeCategories = orZero(subscriptionRepository.countActiveCategories());
+
             Map<String, Long> categoryCount = new HashMap<>();
-            for (Object[] row : categoryStats) {
-                categoryCount.put((String) row[0], ((Number) row[1]).longValue());
+            for (CategoryCount row : subscriptionRepository.getSubscriptionCountByCategory()) {
+                categoryCount.put(row.category(), row.count());
             }
-            statistics.put("subscriptionsByCategory", categoryCount);
 
             logger.info("Generated subscription statistics: Active={}, Total Categories={}",
                     activeSubscriptions, activeCategories);
 
-        } catch (Exception e) {
+            return new SubscriptionStatistics(activeSubscriptions, inactiveSubscriptions,
+                    activeSubscriptions + inactiveSubscriptions, activeCategories, categoryCount);
+        } catch (DataAccessException e) {
+            // The cause is logged here; the client only gets the domain error
             logger.error("Failed to generate statistics", e);
-            throw new RuntimeException("Failed to generate statistics");
+            throw new StatisticsUnavailableException();
         }
-
-        return statistics;
     }
 
     // Helper methods
+    private static long orZero(Long count) {
+        return count != null ? count : 0L;
+    }
+
+    private Subscription findSubscription(Long id) {
+        if (notFoundCache.isKnownMissing(id)) {
+            throw new SubscriptionNotFoundException(id);
+        }
+
+        return subscriptionRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.debug("Subscription not found: {}", id);
+                    notFoundCache.markMissing(id);
+                    return new SubscriptionNotFoundException(id);
+                });
+    }
+
     private SubscriptionResponse mapToResponse(Subscription subscription) {
-        return new SubscriptionResponse(
-                subscription.getId(),
-                subscription.getName(),
-                subscription.getDescription(),
-                subscription.getPrice(),
-                subscription.getCurrency(),
-                subscription.getCategory(),
-                subscription.getBillingPeriod(),
-                subscription.getWebsiteUrl(),
-                subscription.getLogoUrl(),
-                subscription.getIsActive()
-        );
+        return SubscriptionMapper.toResponse(subscription);
     }
 }
\ No newline at end of file
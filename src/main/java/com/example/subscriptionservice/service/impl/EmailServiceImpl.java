@@ -1,14 +1,28 @@
 package com.example.subscriptionservice.service.impl;
 
+import com.example.subscriptionservice.notification.MailContent;
+import com.example.subscriptionservice.notification.MailTemplates;
+import com.example.subscriptionservice.notification.Notification;
+import com.example.subscriptionservice.notification.NotificationDigest;
+import com.example.subscriptionservice.notification.NotificationType;
 import com.example.subscriptionservice.service.EmailService;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class EmailServiceImpl implements EmailService {
 
@@ -17,20 +31,18 @@ public class EmailServiceImpl implements EmailService {
     @Autowired
     private JavaMailSender javaMailSender;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
-    @Value("${email.template.subscription.created}")
-    private String createdSubject;
+    @Autowired
+    private MailTemplates mailTemplates;
 
-    @Value("${email.template.subscription.updated}")
-    private String updatedSubject;
+    @Autowired
+    private NotificationDigest notificationDigest;
 
-    @Value("${email.template.subscription.activated}")
-    private String activatedSubject;
+    @Value("${spring.mail.username}")
+    private String fromEmail;
 
-    @Value("${email.template.subscription.deactivated}")
-    private String deactivatedSubject;
+    // When on, notifications are collected per recipient and sent as one email per digest window
+    @Value("${email.digest.enabled:false}")
+    private boolean digestEnabled;
 
     @Override
     public void sendEmail(String to, String subject, String body) {
@@ -51,69 +63,80 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendSubscriptionCreatedNotification(String adminEmail, String subscriptionName) {
-        String body = String.format(
-                "Dear Admin,\n\n" +
-                        "A new subscription has been created:\n\n" +
-                        "Subscription name: %s\n" +
-                        "Creation date: %s\n\n" +
-                        "You can view the details by accessing the system admin panel.\n\n" +
-                        "Best regards,\n" +
-                        "System",
-                subscriptionName,
-                java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
-        );
-
-        sendEmail(adminEmail, createdSubject, body);
+        notify(adminEmail, NotificationType.CREATED, subscriptionName);
     }
 
     @Override
     public void sendSubscriptionUpdatedNotification(String adminEmail, String subscriptionName) {
-        String body = String.format(
-                "Dear Admin,\n\n" +
-                        "Subscription information has been updated:\n\n" +
-                        "Subscription name: %s\n" +
-                        "Update date: %s\n\n" +
-                        "You can view the changes in the admin panel.\n\n" +
-                        "Best regards,\n" +
-                        "System",
-                subscriptionName,
-                java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
-        );
-
-        sendEmail(adminEmail, updatedSubject, body);
+        notify(adminEmail, NotificationType.UPDATED, subscriptionName);
     }
 
     @Override
     public void sendSubscriptionActivatedNotification(String adminEmail, String subscriptionName) {
-        String body = String.format(
-                "Dear Admin,\n\n" +
-                        "Subscription has been activated:\n\n" +
-                        "Subscription name: %s\n" +
-                        "Activation date: %s\n\n" +
-                        "The subscription will now be available to users.\n\n" +
-                        "Best regards,\n" +
-                        "System",
-                subscriptionName,
-                java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
-        );
-
-        sendEmail(adminEmail, activatedSubject, body);
+        notify(adminEmail, NotificationType.ACTIVATED, subscriptionName);
     }
 
     @Override
     public void sendSubscriptionDeactivatedNotification(String adminEmail, String subscriptionName) {
-        String body = String.format(
-                "Dear Admin,\n\n" +
-                        "Subscription has been deactivated:\n\n" +
-                        "Subscription name: %s\n" +
-                        "Deactivation date: %s\n\n" +
-                        "The subscription will no longer be available to users.\n\n" +
-                        "Best regards,\n" +
-                        "System",
-                subscriptionName,
-                java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
-        );
-
-        sendEmail(adminEmail, deactivatedSubject, body);
+        notify(adminEmail, NotificationType.DEACTIVATED, subscriptionName);
+    }
+
+    @Scheduled(fixedDelayString = "${email.digest.flush-interval-ms:1000}")
+    public void flushDueDigests() {
+        send(notificationDigest.drainDue(System.currentTimeMillis()));
+    }
+
+    // Nothing collected is lost on a clean shutdown; windows are cut short instead
+    @PreDestroy
+    public void flushAllDigests() {
+        send(notificationDigest.drainAll());
+    }
+
+    private void notify(String to, NotificationType type, String subscriptionName) {
+        Notification notification = new Notification(type, subscriptionName, LocalDateTime.now());
+        if (digestEnabled) {
+            notificationDigest.add(to, notification);
+            log.debug("Queued {} notification for {} into the digest", type, to);
+            return;
+        }
+
+        sendMime(to, mailTemplates.render(notification));
+    }
+
+    private void send(Map<String, List<Notification>> batches) {
+        // The batches are already drained, so one failing recipient must not cost the others theirs
+        batches.forEach((to, notifications) -> {
+            try {
+                // A window with a single notification goes out as that notification's own email
+                MailContent content = notifications.size() == 1
+                        ? mailTemplates.render(notifications.get(0))
+                        : mailTemplates.renderDigest(notifications);
+                sendMime(to, content);
+            } catch (RuntimeException e) {
+                if (notifications.size() == 1) {
+                    log.error("Dropping notification for {}: {}", to, e.getMessage(), e);
+                } else {
+                    log.error("Dropping digest of {} notifications for {}: {}", notifications.size(), to,
+                            e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private void sendMime(String to, MailContent content) {
+        try {
+            MimeMessage message = javaMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(content.subject());
+            helper.setText(content.text(), content.html());
+
+            javaMailSender.send(message);
+            log.info("Email sent successfully to: {}", to);
+        } catch (Exception e) {
+            log.error("Failed to send email to {}: {}", to, e.getMessage());
+            throw new RuntimeException("Email sending error: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,262 @@
+package com.example.subscriptionservice.similarity;
+
+import com.example.subscriptionservice.catalog.CatalogSnapshot;
+import com.example.subscriptionservice.catalog.FxRateProvider;
+import com.example.subscriptionservice.catalog.FxRateTable;
+import com.example.subscriptionservice.catalog.SubscriptionCatalog;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.event.CatalogRefreshedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed "similar subscriptions": for every active subscription, its {@code similarity.neighbors}
+ * most similar active subscriptions by {@link SubscriptionFeatures#similarity}. Only subscriptions sharing
+ * the category or a description token are compared, found through an inverted index over both.
+ *
+ * <p>The lists are built from the catalog snapshot at startup and then kept current from
+ * {@link CatalogRefreshedEvent}s: a changed subscription gets a new list, subscriptions that listed it are
+ * recomputed, and it is offered to the lists of its candidates. Nothing else is touched. Price bands use the
+ * FX rates at the time a subscription was indexed. Readers get an immutable list from a concurrent map and
+ * never wait for an update.</p>
+ */
+@Component
+public class SimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndex.class);
+
+    private static final Comparator<Neighbor> BEST_FIRST = Comparator.comparingDouble(Neighbor::score).reversed()
+            .thenComparingLong(Neighbor::id);
+
+    @Autowired
+    private SubscriptionCatalog subscriptionCatalog;
+
+    @Autowired
+    private FxRateProvider fxRateProvider;
+
+    @Value("${catalog.facets.price-bands:5,10,20,50}")
+    private String[] priceBands;
+
+    @Value("${similarity.neighbors:20}")
+    private int neighborCount;
+
+    // Guarded by this; only the neighbor lists are read without the lock
+    private final Map<Long, SubscriptionFeatures> features = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<Long>> listedBy = new HashMap<>();
+    private final Map<Long, List<Neighbor>> neighbors = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    /**
+     * The most similar active subscriptions to {@code subscriptionId}, best first; empty when it is not an
+     * active subscription or nothing resembles it.
+     */
+    public List<Neighbor> neighbors(Long subscriptionId) {
+        if (!built) {
+            build(subscriptionCatalog.current());
+        }
+        return neighbors.getOrDefault(subscriptionId, List.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            build(subscriptionCatalog.current());
+        } catch (DataAccessException e) {
+            // Built on first use instead
+            logger.error("Failed to build similarity index: {}", e.getMessage());
+        }
+    }
+
+    // The catalog publishes these in snapshot order while holding its own lock
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (!built) {
+            build(event.getSnapshot());
+            return;
+        }
+
+        BigDecimal[] bounds = bounds();
+        FxRateTable rates = fxRateProvider.current();
+        for (Long id : event.getSubscriptionIds()) {
+            SubscriptionResponse row = event.getSnapshot().findById(id);
+            update(id, row == null ? null : SubscriptionFeatures.of(row, bounds, rates));
+        }
+        logger.debug("Updated similarity index for {}", event);
+    }
+
+    private synchronized void build(CatalogSnapshot snapshot) {
+        if (built) {
+            return;
+        }
+        features.clear();
+        postings.clear();
+        listedBy.clear();
+        neighbors.clear();
+
+        BigDecimal[] bounds = bounds();
+        FxRateTable rates = fxRateProvider.current();
+        for (SubscriptionResponse row : snapshot.getSubscriptions()) {
+            SubscriptionFeatures rowFeatures = SubscriptionFeatures.of(row, bounds, rates);
+            features.put(rowFeatures.id(), rowFeatures);
+            index(rowFeatures);
+        }
+        for (Long id : features.keySet()) {
+            recompute(id);
+        }
+
+        built = true;
+        logger.info("Built similarity index for {} subscriptions at catalog version {}",
+                features.size(), snapshot.getVersion());
+    }
+
+    /**
+     * Applies one changed subscription; {@code updated} is {@code null} when it is no longer active.
+     */
+    private void update(Long id, SubscriptionFeatures updated) {
+        SubscriptionFeatures previous = features.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+
+        // Lists holding the old version may rank it too high, or no longer have their best candidates
+        Set<Long> stale = new HashSet<>(listedBy.getOrDefault(id, Set.of()));
+
+        if (updated == null) {
+            setNeighbors(id, List.of());
+            neighbors.remove(id);
+        } else {
+            features.put(id, updated);
+            index(updated);
+            recompute(id);
+            for (Long candidate : candidates(updated)) {
+                if (!stale.contains(candidate)) {
+                    offer(candidate, new Neighbor(id, features.get(candidate).similarity(updated)));
+                }
+            }
+        }
+
+        for (Long listing : stale) {
+            if (features.containsKey(listing)) {
+                recompute(listing);
+            }
+        }
+    }
+
+    private void recompute(Long id) {
+        SubscriptionFeatures subject = features.get(id);
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        for (Long candidate : candidates(subject)) {
+            best.add(new Neighbor(candidate, subject.similarity(features.get(candidate))));
+            if (best.size() > neighborCount) {
+                best.poll();
+            }
+        }
+
+        List<Neighbor> list = new ArrayList<>(best);
+        list.sort(BEST_FIRST);
+        setNeighbors(id, list);
+    }
+
+    // Adds the neighbor to a list it now beats the weakest entry of; the list is otherwise unchanged
+    private void offer(Long id, Neighbor neighbor) {
+        List<Neighbor> current = neighbors.getOrDefault(id, List.of());
+        if (current.size() >= neighborCount
+                && BEST_FIRST.compare(neighbor, current.get(current.size() - 1)) >= 0) {
+            return;
+        }
+
+        List<Neighbor> list = new ArrayList<>(current.size() + 1);
+        list.addAll(current);
+        list.add(neighbor);
+        list.sort(BEST_FIRST);
+        if (list.size() > neighborCount) {
+            list.remove(list.size() - 1);
+        }
+        setNeighbors(id, list);
+    }
+
+    private void setNeighbors(Long id, List<Neighbor> list) {
+        for (Neighbor old : neighbors.getOrDefault(id, List.of())) {
+            Set<Long> listing = listedBy.get(old.id());
+            if (listing != null) {
+                listing.remove(id);
+                if (listing.isEmpty()) {
+                    listedBy.remove(old.id());
+                }
+            }
+        }
+        for (Neighbor neighbor : list) {
+            listedBy.computeIfAbsent(neighbor.id(), k -> new HashSet<>()).add(id);
+        }
+        neighbors.put(id, List.copyOf(list));
+    }
+
+    private Set<Long> candidates(SubscriptionFeatures subject) {
+        Set<Long> candidates = new HashSet<>();
+        for (String key : keys(subject)) {
+            candidates.addAll(postings.getOrDefault(key, Set.of()));
+        }
+        candidates.remove(subject.id());
+        return candidates;
+    }
+
+    private void index(SubscriptionFeatures rowFeatures) {
+        for (String key : keys(rowFeatures)) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(rowFeatures.id());
+        }
+    }
+
+    private void unindex(SubscriptionFeatures rowFeatures) {
+        for (String key : keys(rowFeatures)) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(rowFeatures.id());
+                if (ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    // Categories and tokens share one inverted index, told apart by prefix
+    private static List<String> keys(SubscriptionFeatures rowFeatures) {
+        List<String> keys = new ArrayList<>(rowFeatures.tokens().size() + 1);
+        if (rowFeatures.category() != null) {
+            keys.add("c:" + rowFeatures.category());
+        }
+        for (String token : rowFeatures.tokens()) {
+            keys.add("t:" + token);
+        }
+        return keys;
+    }
+
+    private BigDecimal[] bounds() {
+        return Arrays.stream(priceBands)
+                .map(String::trim)
+                .map(BigDecimal::new)
+                .sorted()
+                .toArray(BigDecimal[]::new);
+    }
+
+    public record Neighbor(long id, double score) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.subscriptionservice.similarity;
+
+import com.example.subscriptionservice.catalog.FxRateTable;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * What the similarity index compares for one active subscription: its category, the price band of its price
+ * in the base currency (-1 when its currency has no rate), its billing period and the distinct tokens of its
+ * description.
+ */
+record SubscriptionFeatures(long id, String category, int priceBand, String billingPeriod, Set<String> tokens) {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKENS = 40;
+
+    // Too common in descriptions to say anything about similarity
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "the", "for", "with", "your", "you", "our", "are", "from", "that", "this", "all", "any",
+            "more", "get", "can", "has", "have", "not", "per", "via", "into", "plus", "its", "out");
+
+    static SubscriptionFeatures of(SubscriptionResponse row, BigDecimal[] bounds, FxRateTable rates) {
+        BigDecimal basePrice = rates.convert(row.getPrice(), row.getCurrency(), rates.getBaseCurrency());
+        return new SubscriptionFeatures(
+                row.getId(),
+                row.getCategory() == null ? null : row.getCategory().trim().toLowerCase(Locale.ROOT),
+                basePrice == null ? -1 : band(basePrice, bounds),
+                row.getBillingPeriod(),
+                tokens(row.getDescription()));
+    }
+
+    // Same banding as the catalog's price facet: band i holds prices below bounds[i], the last band the rest
+    private static int band(BigDecimal price, BigDecimal[] bounds) {
+        int band = 0;
+        while (band < bounds.length && price.compareTo(bounds[band]) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+                if (tokens.size() == MAX_TOKENS) {
+                    break;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Weighted match in [0, 1]: category 0.4, description token Jaccard 0.4, price band 0.1 (half for an
+     * adjacent band) and billing period 0.1.
+     */
+    double similarity(SubscriptionFeatures other) {
+        double score = 0;
+        if (category != null && category.equals(other.category)) {
+            score += 0.4;
+        }
+        score += 0.4 * jaccard(tokens, other.tokens);
+        if (priceBand >= 0 && other.priceBand >= 0) {
+            int distance = Math.abs(priceBand - other.priceBand);
+            score += distance == 0 ? 0.1 : distance == 1 ? 0.05 : 0;
+        }
+        if (billingPeriod != null && billingPeriod.equals(other.billingPeriod)) {
+            score += 0.1;
+        }
+        return score;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for (String token : smaller) {
+            if (larger.contains(token)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
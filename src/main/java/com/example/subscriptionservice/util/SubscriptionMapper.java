@@ -0,0 +1,46 @@
+package com.example.subscriptionservice.util;
+
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.entity.Subscription;
+
+import java.math.BigDecimal;
+
+public final class SubscriptionMapper {
+
+    private SubscriptionMapper() {
+    }
+
+    public static SubscriptionResponse toResponse(Subscription subscription) {
+        return new SubscriptionResponse(
+                subscription.getId(),
+                subscription.getName(),
+                subscription.getDescription(),
+                subscription.getPrice(),
+                subscription.getCurrency(),
+                subscription.getCategory(),
+                subscription.getBillingPeriod(),
+                subscription.getWebsiteUrl(),
+                subscription.getLogoUrl(),
+                subscription.getIsActive()
+        );
+    }
+
+    public static SubscriptionResponse withDisplayPrice(SubscriptionResponse source, BigDecimal displayPrice,
+                                                        String displayCurrency) {
+        SubscriptionResponse response = new SubscriptionResponse(
+                source.getId(),
+                source.getName(),
+                source.getDescription(),
+                source.getPrice(),
+                source.getCurrency(),
+                source.getCategory(),
+                source.getBillingPeriod(),
+                source.getWebsiteUrl(),
+                source.getLogoUrl(),
+                source.getIsActive()
+        );
+        response.setDisplayPrice(displayPrice);
+        response.setDisplayCurrency(displayCurrency);
+        return response;
+    }
+}
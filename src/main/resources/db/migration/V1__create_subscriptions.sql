@@ -0,0 +1,17 @@
+-- Baseline: the schema previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+CREATE TABLE IF NOT EXISTS subscriptions (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255)   NOT NULL,
+    description    VARCHAR(255),
+    price          NUMERIC(10, 2) NOT NULL,
+    currency       VARCHAR(255)   NOT NULL,
+    category       VARCHAR(255)   NOT NULL,
+    billing_period VARCHAR(255),
+    website_url    VARCHAR(255),
+    logo_url       VARCHAR(255),
+    is_active      BOOLEAN,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT uk_subscriptions_name UNIQUE (name)
+);
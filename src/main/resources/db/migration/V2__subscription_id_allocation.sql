@@ -0,0 +1,3 @@
+-- Hibernate reserves ids in blocks of 50 (pooled optimizer) so inserts can be sent as JDBC batches.
+-- The increment must match @SequenceGenerator(allocationSize) on Subscription.
+ALTER TABLE subscriptions ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,24 @@
+-- One index per SubscriptionRepository access path. Partial indexes cover the is_active filters that
+-- almost every public query carries; trigram GIN indexes let LIKE '%term%' searches avoid full scans.
+-- Category lookups for the public endpoints are served from the in-memory catalog, not the database.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- findResponsesByIsActive(true), countActiveSubscriptions, findActiveResponses (ordered by id)
+CREATE INDEX IF NOT EXISTS idx_subscriptions_active_id
+    ON subscriptions (id) WHERE is_active;
+
+-- findResponsesByIsActive(false), countInactiveSubscriptions
+CREATE INDEX IF NOT EXISTS idx_subscriptions_inactive_id
+    ON subscriptions (id) WHERE NOT is_active;
+
+-- findAllActiveCategories, countActiveCategories, getSubscriptionCountByCategory
+CREATE INDEX IF NOT EXISTS idx_subscriptions_active_category
+    ON subscriptions (category) WHERE is_active;
+
+-- findActiveResponsesByNameContaining, searchResponses (LIKE '%term%' over name, description and category)
+CREATE INDEX IF NOT EXISTS idx_subscriptions_name_trgm
+    ON subscriptions USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_subscriptions_description_trgm
+    ON subscriptions USING gin (description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_subscriptions_category_trgm
+    ON subscriptions USING gin (category gin_trgm_ops);
@@ -0,0 +1,53 @@
+-- Append-only log of every price a subscription has had, partitioned by month on changed_at so range scans
+-- only touch the months they ask for. Monthly partitions are created ahead of time by PriceHistoryMaintenance;
+-- the default partition only catches rows if that job has been failing.
+CREATE SEQUENCE IF NOT EXISTS subscription_price_history_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS subscription_price_history (
+    id              BIGINT         NOT NULL DEFAULT nextval('subscription_price_history_id_seq'),
+    subscription_id BIGINT         NOT NULL,
+    category        VARCHAR(255)   NOT NULL,
+    price           NUMERIC(10, 2) NOT NULL,
+    currency        VARCHAR(255)   NOT NULL,
+    changed_at      TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+CREATE TABLE IF NOT EXISTS subscription_price_history_default
+    PARTITION OF subscription_price_history DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_price_history_subscription_changed
+    ON subscription_price_history (subscription_id, changed_at);
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF subscription_price_history FOR VALUES FROM (%L) TO (%L)',
+            'subscription_price_history_' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+-- One row per subscription per day: the price at the start of the day (open), the last price of the day
+-- (close) and the extremes in between. Every active subscription gets a row when the day opens, so range
+-- and trend queries read one row per day instead of replaying the change log.
+CREATE TABLE IF NOT EXISTS subscription_price_daily (
+    subscription_id BIGINT         NOT NULL,
+    day             DATE           NOT NULL,
+    category        VARCHAR(255)   NOT NULL,
+    currency        VARCHAR(255)   NOT NULL,
+    open_price      NUMERIC(10, 2) NOT NULL,
+    close_price     NUMERIC(10, 2) NOT NULL,
+    low_price       NUMERIC(10, 2) NOT NULL,
+    high_price      NUMERIC(10, 2) NOT NULL,
+    change_count    INTEGER        NOT NULL,
+    PRIMARY KEY (subscription_id, day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_daily_category_day
+    ON subscription_price_daily (category, day);
@@ -0,0 +1,23 @@
+-- Future-dated admin changes (price, activation, deactivation). PENDING rows are picked up by
+-- ScheduledChangeExecutor; whichever instance claims a row first (FOR UPDATE SKIP LOCKED) runs it and moves
+-- it to DONE or FAILED in the same transaction.
+CREATE TABLE IF NOT EXISTS subscription_scheduled_changes (
+    id              BIGSERIAL      PRIMARY KEY,
+    subscription_id BIGINT         NOT NULL REFERENCES subscriptions (id),
+    change_type     VARCHAR(32)    NOT NULL,
+    new_price       NUMERIC(10, 2),
+    new_currency    VARCHAR(255),
+    due_at          TIMESTAMP(6)   NOT NULL,
+    status          VARCHAR(32)    NOT NULL,
+    failure_reason  VARCHAR(512),
+    created_at      TIMESTAMP(6)   NOT NULL,
+    executed_at     TIMESTAMP(6)
+);
+
+-- findDue / findPendingDueBefore: only the pending rows are ever scanned by due date
+CREATE INDEX IF NOT EXISTS idx_scheduled_changes_pending_due
+    ON subscription_scheduled_changes (due_at, id) WHERE status = 'PENDING';
+
+-- Admin listing per subscription
+CREATE INDEX IF NOT EXISTS idx_scheduled_changes_subscription
+    ON subscription_scheduled_changes (subscription_id, due_at);
@@ -0,0 +1,28 @@
+-- Append-only trail of admin changes, written in batches by AuditLog. Ids come from a plain (unpooled)
+-- sequence so they increase in write order across instances and can serve as the keyset for /admin/audit.
+CREATE TABLE IF NOT EXISTS admin_audit_log (
+    id              BIGSERIAL     PRIMARY KEY,
+    occurred_at     TIMESTAMP(6)  NOT NULL,
+    actor           VARCHAR(255)  NOT NULL,
+    action          VARCHAR(64)   NOT NULL,
+    subscription_id BIGINT        NOT NULL,
+    changes         JSONB         NOT NULL
+);
+
+-- Keyset pages filtered by subscription or by actor, newest first
+CREATE INDEX IF NOT EXISTS idx_admin_audit_subscription_id
+    ON admin_audit_log (subscription_id, id);
+CREATE INDEX IF NOT EXISTS idx_admin_audit_actor_id
+    ON admin_audit_log (actor, id);
+
+-- Rows can be added but never changed or removed through the application's connection
+CREATE OR REPLACE FUNCTION admin_audit_log_append_only() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'admin_audit_log is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS admin_audit_log_append_only ON admin_audit_log;
+CREATE TRIGGER admin_audit_log_append_only
+    BEFORE UPDATE OR DELETE ON admin_audit_log
+    FOR EACH ROW EXECUTE FUNCTION admin_audit_log_append_only();
@@ -0,0 +1,15 @@
+-- Popularity per subscription, accumulated from every instance's periodic flush. log_score is the natural
+-- log of a forward-decayed score: each interaction adds weight * e^(lambda * t) for its epoch second t, so
+-- the decay of all rows at once never has to be written and ordering by log_score is ordering by current
+-- decayed score. Storing the logarithm keeps the growing exponent from overflowing a double.
+CREATE TABLE IF NOT EXISTS subscription_popularity (
+    subscription_id BIGINT           PRIMARY KEY REFERENCES subscriptions (id),
+    views           BIGINT           NOT NULL,
+    search_hits     BIGINT           NOT NULL,
+    log_score       DOUBLE PRECISION NOT NULL,
+    updated_at      TIMESTAMP(6)     NOT NULL
+);
+
+-- Top-N reseed of the trending heap
+CREATE INDEX IF NOT EXISTS idx_subscription_popularity_log_score
+    ON subscription_popularity (log_score DESC);
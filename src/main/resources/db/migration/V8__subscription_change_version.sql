@@ -0,0 +1,24 @@
+-- Change detection for the catalog (CatalogFingerprint). Every insert and update, whichever instance or
+-- statement issues it, stamps the row with the next value of one sequence, so a row's new version is always
+-- larger than the one it replaces. SUM(change_version) therefore rises with every committed write, whatever
+-- the commit order of concurrent writes and whatever the clocks of the instances that made them.
+CREATE SEQUENCE IF NOT EXISTS subscriptions_change_version_seq;
+
+ALTER TABLE subscriptions
+    ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT nextval('subscriptions_change_version_seq');
+
+CREATE OR REPLACE FUNCTION subscriptions_stamp_change_version() RETURNS trigger AS $$
+BEGIN
+    NEW.change_version := nextval('subscriptions_change_version_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS subscriptions_change_version ON subscriptions;
+CREATE TRIGGER subscriptions_change_version
+    BEFORE INSERT OR UPDATE ON subscriptions
+    FOR EACH ROW EXECUTE FUNCTION subscriptions_stamp_change_version();
+
+-- findCatalogFingerprint (index-only scan instead of reading every row)
+CREATE INDEX IF NOT EXISTS idx_subscriptions_change_version
+    ON subscriptions (change_version);
@@ -0,0 +1,95 @@
+package com.example.subscriptionservice.analytics;
+
+import com.example.subscriptionservice.dto.SearchAnalyticsEnvelope;
+import com.example.subscriptionservice.dto.SearchAnalyticsState;
+import com.example.subscriptionservice.dto.SearchSketchState;
+import com.example.subscriptionservice.dto.TermCount;
+import com.example.subscriptionservice.exception.IncompatibleSketchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchAnalyticsTests {
+
+    private static final int CAPACITY = 10;
+    private static final int WIDTH = 64;
+    private static final int DEPTH = 4;
+
+    private final SearchAnalytics local = analytics();
+    private final SearchAnalytics replica = analytics();
+
+    @BeforeEach
+    void recordSearches() {
+        local.record("netflix", true);
+        replica.record("netflix", true);
+        replica.record("hulu", false);
+    }
+
+    @Test
+    void mergesReplicaStates() {
+        SearchAnalyticsEnvelope report = local.mergedReport(List.of(replica.state()), 5);
+
+        assertEquals(2, report.instances());
+        assertEquals(3, report.totalSearches());
+        assertEquals(new TermCount("netflix", 2, 0), report.topTerms().get(0));
+    }
+
+    @Test
+    void rejectsStatesThatDoNotMatchTheConfiguredSketch() {
+        assertRejected(s -> withCounts(s, -1, DEPTH, s.counts()));
+        assertRejected(s -> withCounts(s, Integer.MAX_VALUE, DEPTH, s.counts()));
+        assertRejected(s -> withCounts(s, WIDTH, DEPTH, null));
+        assertRejected(s -> withCounts(s, WIDTH, DEPTH, new long[DEPTH - 1][WIDTH]));
+        assertRejected(s -> withCounts(s, WIDTH, DEPTH, new long[][]{new long[WIDTH], new long[WIDTH], new long[1], null}));
+        assertRejected(s -> withCounts(s, WIDTH, DEPTH, new long[][]{new long[WIDTH], new long[WIDTH], new long[WIDTH], null}));
+        assertRejected(s -> withTop(s, null));
+        assertRejected(s -> withTop(s, Collections.nCopies(CAPACITY + 1, new TermCount("netflix", 1, 0))));
+        assertRejected(s -> withTop(s, Collections.singletonList(null)));
+        assertRejected(s -> withTop(s, List.of(new TermCount(null, 1, 0))));
+        assertRejected(s -> null);
+    }
+
+    @Test
+    void rejectsStatesWithoutStartTime() {
+        SearchAnalyticsState state = replica.state();
+        List<SearchAnalyticsState> missing = Collections.singletonList(null);
+
+        assertThrows(IncompatibleSketchException.class, () -> local.mergedReport(missing, 5));
+        assertThrows(IncompatibleSketchException.class, () -> local.mergedReport(
+                List.of(new SearchAnalyticsState(null, state.searches(), state.zeroResults())), 5));
+    }
+
+    private void assertRejected(UnaryOperator<SearchSketchState> corrupt) {
+        SearchAnalyticsState state = replica.state();
+        SearchAnalyticsState corrupted = new SearchAnalyticsState(state.since(), corrupt.apply(state.searches()),
+                state.zeroResults());
+
+        assertThrows(IncompatibleSketchException.class, () -> local.mergedReport(List.of(corrupted), 5));
+    }
+
+    private static SearchSketchState withCounts(SearchSketchState state, int width, int depth, long[][] counts) {
+        return new SearchSketchState(state.total(), width, depth, counts, state.capacity(), state.floor(),
+                state.top());
+    }
+
+    private static SearchSketchState withTop(SearchSketchState state, List<TermCount> top) {
+        return new SearchSketchState(state.total(), state.width(), state.depth(), state.counts(), state.capacity(),
+                state.floor(), top);
+    }
+
+    private static SearchAnalytics analytics() {
+        SearchAnalytics analytics = new SearchAnalytics();
+        ReflectionTestUtils.setField(analytics, "capacity", CAPACITY);
+        ReflectionTestUtils.setField(analytics, "width", WIDTH);
+        ReflectionTestUtils.setField(analytics, "depth", DEPTH);
+        analytics.init();
+        return analytics;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.subscriptionservice.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real Disruptor pipeline against a JdbcTemplate that records each batch instead of writing it.
+ */
+class AuditLogTests {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final AuditLog auditLog = new AuditLog();
+
+    @BeforeEach
+    void startAuditLog() {
+        ReflectionTestUtils.setField(auditLog, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(auditLog, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditLog, "bufferSize", 2048);
+        ReflectionTestUtils.setField(auditLog, "maxBatchSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(auditLog, "shutdownTimeoutMillis", 5000L);
+        auditLog.start();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void entriesArrivingDuringAWriteGoOutTogetherCappedAtMaxBatchSize() throws Exception {
+        jdbcTemplate.holdFirstBatch();
+        record(0);
+        assertTrue(jdbcTemplate.firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+        // Queue up behind the blocked write
+        for (long id = 1; id < 900; id++) {
+            record(id);
+        }
+        jdbcTemplate.releaseFirstBatch.countDown();
+        auditLog.stop();
+
+        List<Integer> sizes = jdbcTemplate.batchSizes();
+        assertEquals(List.of(1), sizes.subList(0, 1));
+        // 899 waiting entries: eight full batches, then the end-of-batch flush of the remainder
+        assertEquals(List.of(100, 100, 100, 100, 100, 100, 100, 100, 99), sizes.subList(1, sizes.size()));
+        assertEquals(rangeOf(900), jdbcTemplate.subscriptionIds());
+    }
+
+    @Test
+    void lightLoadIsWrittenWithoutWaitingForAFullBatch() throws Exception {
+        record(7);
+
+        assertTrue(jdbcTemplate.awaitEntries(1));
+        assertEquals(List.of(1), jdbcTemplate.batchSizes());
+    }
+
+    @Test
+    void entriesArePublishedOnlyAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        record(1);
+        List<TransactionSynchronization> rolledBack = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        record(2);
+        List<TransactionSynchronization> committed = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // The ring buffer is FIFO, so once an entry recorded later is written nothing earlier is still pending
+        record(3);
+        assertTrue(jdbcTemplate.awaitEntries(1));
+        assertEquals(List.of(3L), jdbcTemplate.subscriptionIds());
+
+        rolledBack.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        committed.forEach(TransactionSynchronization::afterCommit);
+        committed.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        auditLog.stop();
+
+        assertEquals(List.of(3L, 2L), jdbcTemplate.subscriptionIds());
+    }
+
+    private void record(long subscriptionId) {
+        auditLog.record("admin", AuditAction.UPDATED, subscriptionId, Map.of("price", 1), Map.of("price", 2));
+    }
+
+    private static List<Long> rangeOf(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Records the size and subscription ids of every batch; the first batch can be held to let entries pile up.
+     */
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        private volatile boolean holdFirst;
+
+        void holdFirstBatch() {
+            holdFirst = true;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            if (holdFirst && firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                try {
+                    releaseFirstBatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            sizes.add(batchArgs.size());
+            for (T args : batchArgs) {
+                PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+                try {
+                    pss.setValues(statement, args);
+                    ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+                    Mockito.verify(statement).setLong(Mockito.eq(4), id.capture());
+                    ids.add(id.getValue());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return new int[0][];
+        }
+
+        boolean awaitEntries(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (ids.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return ids.size() >= count;
+        }
+
+        List<Integer> batchSizes() {
+            return List.copyOf(sizes);
+        }
+
+        List<Long> subscriptionIds() {
+            return List.copyOf(ids);
+        }
+    }
+}
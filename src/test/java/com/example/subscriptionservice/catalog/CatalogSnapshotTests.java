@@ -0,0 +1,74 @@
+package com.example.subscriptionservice.catalog;
+
+import com.example.subscriptionservice.dto.FacetQuery;
+import com.example.subscriptionservice.dto.FacetResult;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogSnapshotTests {
+
+    private static final BigDecimal[] PRICE_BANDS = {new BigDecimal("5"), new BigDecimal("10"), new BigDecimal("20")};
+
+    // 10 EUR = 11.00 USD, 15 AZN = 8.85 USD; GBP has no rate
+    private final CatalogSnapshot snapshot = new CatalogSnapshot(1, List.of(
+            row(1, "10.00", "EUR"),
+            row(2, "10.50", "USD"),
+            row(3, "15.00", "AZN"),
+            row(4, "5.00", "GBP")),
+            PRICE_BANDS,
+            new FxRateTable(1, "USD", Map.of("EUR", new BigDecimal("1.10"), "AZN", new BigDecimal("0.59"))));
+
+    @Test
+    void sortsMixedCurrenciesByDisplayPrice() {
+        assertEquals(List.of(3L, 2L, 1L, 4L), ids(snapshot.filter(query(null, null, "asc", "USD"))));
+        // Rows without a display price stay last
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(snapshot.filter(query(null, null, "desc", "USD"))));
+    }
+
+    @Test
+    void comparesPriceBoundsInTheDisplayCurrency() {
+        assertEquals(List.of(3L, 2L), ids(snapshot.filter(query(null, new BigDecimal("10.75"), "asc", "USD"))));
+        assertEquals(List.of(2L, 1L), ids(snapshot.filter(query(new BigDecimal("10.50"), null, "asc", "USD"))));
+    }
+
+    @Test
+    void bandsRowsByDisplayPrice() {
+        FacetResult result = snapshot.filter(query(null, null, "asc", "USD"));
+
+        assertEquals(Map.of("0-5", 0, "5-10", 1, "10-20", 2, "20+", 0), result.getFacets().get(FacetIndex.PRICE_BAND));
+    }
+
+    @Test
+    void usesOwnPricesWithoutDisplayCurrency() {
+        FacetResult result = snapshot.filter(query(null, new BigDecimal("10.75"), "asc", null));
+
+        assertEquals(List.of(4L, 1L, 2L), ids(result));
+        assertEquals(Map.of("0-5", 0, "5-10", 1, "10-20", 2, "20+", 0), result.getFacets().get(FacetIndex.PRICE_BAND));
+    }
+
+    private static FacetQuery query(BigDecimal minPrice, BigDecimal maxPrice, String sortDir, String displayCurrency) {
+        return new FacetQuery(null, null, null, null, minPrice, maxPrice, sortDir, displayCurrency);
+    }
+
+    private static List<Long> ids(FacetResult result) {
+        return result.getSubscriptions().stream().map(SubscriptionResponse::getId).toList();
+    }
+
+    private static SubscriptionResponse row(long id, String price, String currency) {
+        SubscriptionResponse row = new SubscriptionResponse();
+        row.setId(id);
+        row.setName("Subscription " + id);
+        row.setPrice(new BigDecimal(price));
+        row.setCurrency(currency);
+        row.setCategory("Streaming");
+        row.setBillingPeriod("MONTHLY");
+        row.setIsActive(true);
+        return row;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.subscriptionservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls every SubscriptionRepository query the service uses, captures the SQL Hibernate generates for it
+ * (paged methods issue both the page and the count query), and runs EXPLAIN on each statement to check that
+ * Postgres can answer it from an index. Statements are prepared with their bind parameters and planned
+ * generically, so the plan does not depend on sample values. Sequential scans are disabled for the session
+ * so the seed data's small table size does not hide a missing index: if no index applies, the planner still
+ * falls back to a Seq Scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.subscriptionservice.repository.SubscriptionRepositoryIndexTests$CapturingStatementInspector")
+class SubscriptionRepositoryIndexTests {
+
+    // Deep enough that the page comes back empty, so Spring Data also runs the count query
+    private static final Pageable BEYOND_LAST_PAGE = PageRequest.of(10_000, 10, Sort.by("id").descending());
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("existsByName", r -> r.existsByName("Netflix")),
+                query("findAllActiveCategories", SubscriptionRepository::findAllActiveCategories),
+                query("countActiveSubscriptions", SubscriptionRepository::countActiveSubscriptions),
+                query("countInactiveSubscriptions", SubscriptionRepository::countInactiveSubscriptions),
+                query("countActiveCategories", SubscriptionRepository::countActiveCategories),
+                query("getSubscriptionCountByCategory", SubscriptionRepository::getSubscriptionCountByCategory),
+                query("findActiveResponses", SubscriptionRepository::findActiveResponses),
+                query("findCatalogFingerprint", SubscriptionRepository::findCatalogFingerprint),
+                query("findResponseById", r -> r.findResponseById(1L)),
+                query("findActiveResponsesByNameContaining", r -> r.findActiveResponsesByNameContaining("flix")),
+                query("findAllResponses", r -> r.findAllResponses(BEYOND_LAST_PAGE)),
+                query("findResponsesByIsActive(true)", r -> r.findResponsesByIsActive(true, BEYOND_LAST_PAGE)),
+                query("findResponsesByIsActive(false)", r -> r.findResponsesByIsActive(false, BEYOND_LAST_PAGE)),
+                query("searchResponses", r -> r.searchResponses("flix", BEYOND_LAST_PAGE))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndex(String repositoryMethod, Consumer<SubscriptionRepository> call) {
+        // Cached results would answer without issuing SQL
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        List<String> statements = CapturingStatementInspector.capture(() -> call.accept(subscriptionRepository));
+        assertFalse(statements.isEmpty(), repositoryMethod + " issued no SQL");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+
+            assertTrue(plan.contains("Index"), repositoryMethod + " does not use an index:\n" + sql + "\n" + plan);
+            assertFalse(plan.contains("Seq Scan"),
+                    repositoryMethod + " falls back to a sequential scan:\n" + sql + "\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        String prepared = numbered.toString();
+
+        return jdbcTemplate.execute((Statement statement) -> {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE repository_query AS " + prepared);
+            List<String> lines = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN EXECUTE repository_query" + arguments)) {
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+            } finally {
+                statement.execute("DEALLOCATE repository_query");
+                statement.execute("RESET plan_cache_mode");
+                statement.execute("RESET enable_seqscan");
+            }
+            return String.join("\n", lines);
+        });
+    }
+
+    private static Arguments query(String name, Consumer<SubscriptionRepository> call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * Records the SQL Hibernate sends while {@link #capture} runs. Registered by class name through the
+     * {@code statement_inspector} property, so Hibernate creates the instance.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> captured = Collections.synchronizedList(new ArrayList<>());
+        private static volatile boolean capturing;
+
+        static List<String> capture(Runnable call) {
+            captured.clear();
+            capturing = true;
+            try {
+                call.run();
+            } finally {
+                capturing = false;
+            }
+            return List.copyOf(captured);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (capturing) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.subscriptionservice.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the wheel with explicit timestamps: 100 ms ticks and 8 slots, so one rotation is 800 ms.
+ */
+class HashedTimingWheelTests {
+
+    private static final long TICK = 100;
+    private static final int SLOTS = 8;
+
+    @Test
+    void firesOnceTheDeadlineTickHasElapsedAndNeverEarly() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 0);
+        wheel.schedule(1, 250);
+
+        assertEquals(List.of(), wheel.advance(199));
+        assertEquals(List.of(), wheel.advance(249));
+        // Tick 2 (200-299) is still running at 250
+        assertEquals(List.of(), wheel.advance(250));
+        assertEquals(List.of(1L), wheel.advance(299));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesInDeadlineOrderAcrossRotations() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 0);
+        // Several rotations deep, sharing slots with earlier jobs, and scheduled out of order
+        long[] deadlines = {2450, 150, 1750, 950, 50, 3250};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 4000; now += TICK / 2) {
+            for (long id : wheel.advance(now)) {
+                long deadline = deadlines[(int) id];
+                assertTrue(now >= deadline, "job " + id + " fired early at " + now);
+                assertTrue(now < deadline + 2 * TICK, "job " + id + " fired late at " + now);
+                fired.add(id);
+            }
+        }
+
+        assertEquals(List.of(4L, 1L, 3L, 2L, 0L, 5L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledAndRescheduledJobsFireOnlyAtTheirCurrentDeadline() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 0);
+        wheel.schedule(1, 250);
+        wheel.schedule(2, 250);
+        wheel.schedule(3, 250);
+
+        wheel.cancel(1);
+        wheel.schedule(2, 650);
+        // Same deadline again is a no-op, not a duplicate
+        wheel.schedule(3, 250);
+        assertEquals(2, wheel.size());
+
+        assertEquals(List.of(3L), wheel.advance(299));
+        assertEquals(List.of(), wheel.advance(599));
+        assertEquals(List.of(2L), wheel.advance(699));
+        assertEquals(List.of(), wheel.advance(5000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineInADrainedTickFiresOnTheNextAdvance() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 0);
+        wheel.advance(499);
+
+        wheel.schedule(1, 120);
+
+        assertEquals(List.of(1L), wheel.advance(599));
+    }
+
+    @Test
+    void longPauseReturnsEveryDueJobExactlyOnce() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 0);
+        for (long id = 0; id < 100; id++) {
+            // Spread over five rotations so every slot holds jobs from several of them
+            wheel.schedule(id, id * 40);
+        }
+
+        List<Long> fired = wheel.advance(2000);
+
+        Set<Long> expected = new HashSet<>();
+        for (long id = 0; id * 40 <= 2000; id++) {
+            expected.add(id);
+        }
+        assertEquals(expected.size(), fired.size());
+        assertEquals(expected, new HashSet<>(fired));
+        assertEquals(100 - expected.size(), wheel.size());
+
+        // The rest still fire after the pause, at their own deadlines
+        List<Long> rest = new ArrayList<>(wheel.advance(3999));
+        rest.addAll(wheel.advance(4099));
+        assertEquals(100 - expected.size(), rest.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void startsAtTheGivenTime() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, SLOTS, 1_000_000);
+        wheel.schedule(1, 1_000_150);
+
+        assertEquals(List.of(), wheel.advance(1_000_150));
+        assertEquals(List.of(1L), wheel.advance(1_000_199));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.subscriptionservice.service.impl;
+
+import com.example.subscriptionservice.notification.MailTemplates;
+import com.example.subscriptionservice.notification.NotificationDigest;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends notifications through the real templates to an in-process GreenMail SMTP server. Only the mail
+ * beans are started, so no database is needed.
+ */
+@SpringJUnitConfig(classes = EmailServiceImplTests.MailConfig.class,
+        initializers = ConfigDataApplicationContextInitializer.class)
+@TestPropertySource(properties = {
+        "spring.mail.username=noreply@subscriptions.test",
+        "email.digest.window-ms=60000"
+})
+class EmailServiceImplTests {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailServiceImpl emailService;
+
+    @Test
+    void sendsTextAndHtmlBodiesFromTemplates() throws Exception {
+        ReflectionTestUtils.setField(emailService, "digestEnabled", false);
+
+        emailService.sendSubscriptionCreatedNotification("admin@subscriptions.test", "Tom & Jerry+");
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("New subscription created", received[0].getSubject());
+        String body = GreenMailUtil.getBody(received[0]);
+        assertTrue(body.contains("Subscription name: Tom & Jerry+"));
+        assertTrue(body.contains("<strong>Tom &amp; Jerry+</strong>"));
+    }
+
+    @Test
+    void digestCoalescesNotificationsIntoOneEmailPerRecipient() throws Exception {
+        ReflectionTestUtils.setField(emailService, "digestEnabled", true);
+
+        emailService.sendSubscriptionCreatedNotification("admin@subscriptions.test", "Netflix");
+        emailService.sendSubscriptionUpdatedNotification("admin@subscriptions.test", "Spotify");
+        emailService.sendSubscriptionDeactivatedNotification("admin@subscriptions.test", "Hulu");
+        emailService.sendSubscriptionActivatedNotification("ops@subscriptions.test", "Disney+");
+
+        emailService.flushDueDigests();
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        emailService.flushAllDigests();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+
+        MimeMessage digest = greenMail.getReceivedMessagesForDomain("admin@subscriptions.test")[0];
+        assertEquals("Subscription changes: 3 notifications", digest.getSubject());
+        String body = GreenMailUtil.getBody(digest);
+        assertTrue(body.contains("- Created: Netflix"));
+        assertTrue(body.contains("- Updated: Spotify"));
+        assertTrue(body.contains("- Deactivated: Hulu"));
+
+        MimeMessage single = greenMail.getReceivedMessagesForDomain("ops@subscriptions.test")[0];
+        assertTrue(GreenMailUtil.getBody(single).contains("Subscription name: Disney+"));
+    }
+
+    @Test
+    void renderFailureDropsOnlyThatRecipientsBatch() throws Exception {
+        ReflectionTestUtils.setField(emailService, "digestEnabled", true);
+
+        // A notification without a name cannot be rendered
+        emailService.sendSubscriptionCreatedNotification("ops@subscriptions.test", null);
+        emailService.sendSubscriptionCreatedNotification("admin@subscriptions.test", "Netflix");
+
+        emailService.flushAllDigests();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("Subscription name: Netflix"));
+    }
+
+    @Configuration
+    @Import({EmailServiceImpl.class, MailTemplates.class, NotificationDigest.class})
+    static class MailConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.subscriptionservice.similarity;
+
+import com.example.subscriptionservice.catalog.CatalogSnapshot;
+import com.example.subscriptionservice.catalog.FxRateProvider;
+import com.example.subscriptionservice.catalog.FxRateTable;
+import com.example.subscriptionservice.catalog.SubscriptionCatalog;
+import com.example.subscriptionservice.dto.SubscriptionResponse;
+import com.example.subscriptionservice.event.CatalogRefreshedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the neighbor lists kept current from catalog events are exactly the lists a fresh build over
+ * the same rows produces, so the listedBy bookkeeping and the offer shortcut never leave a list stale.
+ */
+class SimilarityIndexTests {
+
+    private static final int NEIGHBORS = 5;
+    private static final String[] CATEGORIES = {"Streaming", "Music", "Gaming", "News"};
+    private static final String[] WORDS = {"movies", "series", "music", "podcasts", "games", "news", "family",
+            "offline", "premium", "sports", "kids", "cloud"};
+    private static final String[] PERIODS = {"MONTHLY", "YEARLY"};
+
+    private final Random random = new Random(42);
+    private final FxRateProvider fxRateProvider = Mockito.mock(FxRateProvider.class);
+    private final Map<Long, SubscriptionResponse> rows = new TreeMap<>();
+
+    @BeforeEach
+    void stubRates() {
+        when(fxRateProvider.current()).thenReturn(new FxRateTable(1, "USD", Map.of("USD", BigDecimal.ONE)));
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        for (long id = 1; id <= 300; id++) {
+            rows.put(id, randomRow(id));
+        }
+        SimilarityIndex live = index(snapshot());
+        assertFalse(live.neighbors(1L).isEmpty());
+
+        // Ids above 300 start inactive, so steps also add subscriptions
+        for (int step = 0; step < 400; step++) {
+            List<Long> changed = new ArrayList<>();
+            for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                long id = 1 + random.nextInt(330);
+                if (random.nextInt(4) == 0) {
+                    rows.remove(id);
+                } else {
+                    rows.put(id, randomRow(id));
+                }
+                changed.add(id);
+            }
+            live.onCatalogRefreshed(new CatalogRefreshedEvent(snapshot(), changed));
+        }
+
+        SimilarityIndex rebuilt = index(snapshot());
+        for (long id = 1; id <= 330; id++) {
+            assertEquals(rebuilt.neighbors(id), live.neighbors(id), "neighbors of " + id);
+        }
+    }
+
+    private SimilarityIndex index(CatalogSnapshot snapshot) {
+        SubscriptionCatalog catalog = Mockito.mock(SubscriptionCatalog.class);
+        when(catalog.current()).thenReturn(snapshot);
+
+        SimilarityIndex index = new SimilarityIndex();
+        ReflectionTestUtils.setField(index, "subscriptionCatalog", catalog);
+        ReflectionTestUtils.setField(index, "fxRateProvider", fxRateProvider);
+        ReflectionTestUtils.setField(index, "priceBands", new String[]{"5", "10", "20", "50"});
+        ReflectionTestUtils.setField(index, "neighborCount", NEIGHBORS);
+        index.onStartup();
+        return index;
+    }
+
+    // The index reads only the rows and single-row lookups of a snapshot
+    private CatalogSnapshot snapshot() {
+        Map<Long, SubscriptionResponse> copy = new TreeMap<>(rows);
+        CatalogSnapshot snapshot = Mockito.mock(CatalogSnapshot.class);
+        when(snapshot.getSubscriptions()).thenReturn(List.copyOf(copy.values()));
+        when(snapshot.findById(any(Long.class))).thenAnswer(invocation -> copy.get(invocation.<Long>getArgument(0)));
+        return snapshot;
+    }
+
+    private SubscriptionResponse randomRow(long id) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 1 + random.nextInt(4); i > 0; i--) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+
+        SubscriptionResponse row = new SubscriptionResponse();
+        row.setId(id);
+        row.setName("Subscription " + id);
+        row.setDescription(description.toString());
+        row.setPrice(BigDecimal.valueOf(100 + random.nextInt(6000), 2));
+        row.setCurrency("USD");
+        row.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        row.setBillingPeriod(PERIODS[random.nextInt(PERIODS.length)]);
+        row.setIsActive(true);
+        return row;
+    }
+}